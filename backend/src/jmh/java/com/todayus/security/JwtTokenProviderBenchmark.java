@@ -0,0 +1,92 @@
+package com.todayus.security;
+
+import com.todayus.entity.User;
+import io.jsonwebtoken.Claims;
+import io.jsonwebtoken.Jwts;
+import io.jsonwebtoken.security.Keys;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+
+import javax.crypto.SecretKey;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * JwtAuthenticationFilter가 요청마다 수행하는 토큰 검증 비용 비교
+ * ./gradlew jmh 로 실행합니다.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class JwtTokenProviderBenchmark {
+
+    private static final String SECRET = "benchmark-secret-key-benchmark-secret-key";
+
+    private SecretKey secretKey;
+    private JwtTokenProvider jwtTokenProvider;
+    private String token;
+
+    @Setup
+    public void setUp() {
+        secretKey = Keys.hmacShaKeyFor(SECRET.getBytes());
+        jwtTokenProvider = new JwtTokenProvider(SECRET, 86400, 10000);
+        token = jwtTokenProvider.createToken(User.builder()
+                .id(1L)
+                .email("bench@todayus.com")
+                .name("bench")
+                .nickname("bench")
+                .role(User.Role.USER)
+                .tokenVersion(0)
+                .build());
+    }
+
+    /**
+     * 변경 전: validateToken, getUserId, getEmail이 각각 파서를 만들고 서명을 검증
+     */
+    @Benchmark
+    public void threeVerificationsPerRequest(Blackhole blackhole) {
+        blackhole.consume(verifyWithNewParser(token));
+        blackhole.consume(verifyWithNewParser(token).getSubject());
+        blackhole.consume(verifyWithNewParser(token).get("email", String.class));
+    }
+
+    /**
+     * 캐시 없이 한 번만 검증 (파서를 요청마다 생성)
+     */
+    @Benchmark
+    public void singleVerificationPerRequest(Blackhole blackhole) {
+        Claims claims = verifyWithNewParser(token);
+        blackhole.consume(claims.getSubject());
+        blackhole.consume(claims.get("email", String.class));
+    }
+
+    /**
+     * 변경 후: 검증된 클레임 캐시 적중
+     */
+    @Benchmark
+    public void cachedClaims(Blackhole blackhole) {
+        Claims claims = jwtTokenProvider.parseClaims(token);
+        blackhole.consume(claims.getSubject());
+        blackhole.consume(claims.get("email", String.class));
+        blackhole.consume(jwtTokenProvider.getTokenVersion(claims));
+    }
+
+    private Claims verifyWithNewParser(String token) {
+        return Jwts.parser()
+                .verifyWith(secretKey)
+                .build()
+                .parseSignedClaims(token)
+                .getPayload();
+    }
+}
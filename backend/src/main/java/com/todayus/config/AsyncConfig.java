@@ -0,0 +1,83 @@
+package com.todayus.config;
+
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.scheduling.annotation.EnableAsync;
+import org.springframework.scheduling.concurrent.ThreadPoolTaskExecutor;
+
+import java.util.concurrent.ThreadPoolExecutor;
+
+/**
+ * 스레드 풀 설정
+ * - aiTaskExecutor: 일기 분석, 커플 메시지 순화, 주간 피드백 순화
+ * - fcmTaskExecutor: FCM 멀티캐스트 배치 병렬 발송
+ */
+@Configuration
+@EnableAsync
+public class AsyncConfig {
+
+    @Value("${app.ai.executor.core-size:4}")
+    private int aiCoreSize;
+
+    @Value("${app.ai.executor.max-size:8}")
+    private int aiMaxSize;
+
+    @Value("${app.ai.executor.queue-capacity:200}")
+    private int aiQueueCapacity;
+
+    @Value("${app.fcm.parallelism:4}")
+    private int fcmParallelism;
+
+    @Value("${app.fcm.executor.queue-capacity:1000}")
+    private int fcmQueueCapacity;
+
+    @Bean(name = "aiTaskExecutor")
+    public ThreadPoolTaskExecutor aiTaskExecutor(MeterRegistry meterRegistry) {
+        ThreadPoolTaskExecutor executor = new ThreadPoolTaskExecutor();
+        executor.setCorePoolSize(aiCoreSize);
+        executor.setMaxPoolSize(aiMaxSize);
+        executor.setQueueCapacity(aiQueueCapacity);
+        executor.setThreadNamePrefix("ai-worker-");
+        // 큐가 가득 차면 즉시 거절하고, 작업은 ai_jobs의 대기 상태로 남겨 다음 폴링에서 다시 처리한다
+        executor.setRejectedExecutionHandler(new ThreadPoolExecutor.AbortPolicy());
+        executor.setWaitForTasksToCompleteOnShutdown(true);
+        executor.setAwaitTerminationSeconds(30);
+
+        Gauge.builder("ai.executor.queue.size", executor, e -> e.getThreadPoolExecutor().getQueue().size())
+                .description("AI 작업 대기열 길이")
+                .register(meterRegistry);
+        Gauge.builder("ai.executor.active", executor, ThreadPoolTaskExecutor::getActiveCount)
+                .description("실행 중인 AI 작업 수")
+                .register(meterRegistry);
+        Gauge.builder("ai.executor.pool.size", executor, ThreadPoolTaskExecutor::getPoolSize)
+                .register(meterRegistry);
+
+        return executor;
+    }
+
+    /**
+     * FCM 배치 발송용 풀. 스레드 수가 곧 동시에 진행되는 멀티캐스트 요청 수의 상한이다
+     */
+    @Bean(name = "fcmTaskExecutor")
+    public ThreadPoolTaskExecutor fcmTaskExecutor(MeterRegistry meterRegistry) {
+        ThreadPoolTaskExecutor executor = new ThreadPoolTaskExecutor();
+        executor.setCorePoolSize(fcmParallelism);
+        executor.setMaxPoolSize(fcmParallelism);
+        executor.setQueueCapacity(fcmQueueCapacity);
+        executor.setThreadNamePrefix("fcm-");
+        executor.setRejectedExecutionHandler(new ThreadPoolExecutor.CallerRunsPolicy());
+        executor.setWaitForTasksToCompleteOnShutdown(true);
+        executor.setAwaitTerminationSeconds(30);
+
+        Gauge.builder("fcm.executor.queue.size", executor, e -> e.getThreadPoolExecutor().getQueue().size())
+                .description("FCM 배치 대기열 길이")
+                .register(meterRegistry);
+        Gauge.builder("fcm.executor.active", executor, ThreadPoolTaskExecutor::getActiveCount)
+                .register(meterRegistry);
+
+        return executor;
+    }
+}
@@ -1,20 +1,60 @@
 package com.todayus.config;
 
-import com.theokanning.openai.service.OpenAiService;
+import io.netty.channel.ChannelOption;
 import org.springframework.beans.factory.annotation.Value;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
+import org.springframework.http.client.reactive.ReactorClientHttpConnector;
+import org.springframework.web.reactive.function.client.WebClient;
+import reactor.netty.http.client.HttpClient;
+import reactor.netty.resources.ConnectionProvider;
 
 import java.time.Duration;
 
+/**
+ * OpenAI HTTP 클라이언트 설정
+ * 커넥션 풀을 공유하는 논블로킹 WebClient를 사용하며, 호출별 제한 시간은 OpenAiClient에서 적용합니다.
+ */
 @Configuration
 public class OpenAIConfig {
 
     @Value("${openai.api.key}")
     private String openaiApiKey;
 
+    @Value("${openai.api.base-url:https://api.openai.com/v1}")
+    private String baseUrl;
+
+    @Value("${openai.http.max-connections:50}")
+    private int maxConnections;
+
+    @Value("${openai.http.pending-acquire-timeout-seconds:10}")
+    private long pendingAcquireTimeoutSeconds;
+
+    @Value("${openai.http.connect-timeout-ms:5000}")
+    private int connectTimeoutMs;
+
+    @Bean(destroyMethod = "dispose")
+    public ConnectionProvider openAiConnectionProvider() {
+        return ConnectionProvider.builder("openai")
+                .maxConnections(maxConnections)
+                .pendingAcquireTimeout(Duration.ofSeconds(pendingAcquireTimeoutSeconds))
+                .maxIdleTime(Duration.ofSeconds(30))
+                .evictInBackground(Duration.ofSeconds(60))
+                .build();
+    }
+
     @Bean
-    public OpenAiService openAiService() {
-        return new OpenAiService(openaiApiKey, Duration.ofSeconds(60));
+    public WebClient openAiWebClient(WebClient.Builder webClientBuilder, ConnectionProvider openAiConnectionProvider) {
+        HttpClient httpClient = HttpClient.create(openAiConnectionProvider)
+                .option(ChannelOption.CONNECT_TIMEOUT_MILLIS, connectTimeoutMs);
+
+        return webClientBuilder.clone()
+                .baseUrl(baseUrl)
+                .clientConnector(new ReactorClientHttpConnector(httpClient))
+                .defaultHeader(HttpHeaders.AUTHORIZATION, "Bearer " + openaiApiKey)
+                .defaultHeader(HttpHeaders.CONTENT_TYPE, MediaType.APPLICATION_JSON_VALUE)
+                .build();
     }
-}
\ No newline at end of file
+}
@@ -35,6 +35,7 @@ public class SecurityConfig {
                 .sessionManagement(session -> session.sessionCreationPolicy(SessionCreationPolicy.STATELESS))
                 .authorizeHttpRequests(auth -> auth
                         .requestMatchers("/actuator/**").permitAll() // health, info 포함 전체 actuator 허용
+                        .requestMatchers("/fcm-stub/**").permitAll() // app.fcm.stub.enabled일 때만 존재하는 로컬 스텁
                         .requestMatchers("/", "/api/auth/**", "/oauth2/**", "/login", "/api/health", "/api/users/nickname/check", "/api/couples/invite-code/validate").permitAll()
                         .anyRequest().authenticated()
                 )
@@ -5,11 +5,14 @@ import com.todayus.entity.User;
 import com.todayus.entity.Couple;
 import com.todayus.repository.UserRepository;
 import com.todayus.repository.CoupleRepository;
+import com.todayus.security.CustomOAuth2User;
 import com.todayus.security.JwtTokenProvider;
+import com.todayus.security.TokenVersionCache;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
+import org.springframework.security.core.annotation.AuthenticationPrincipal;
 import org.springframework.web.bind.annotation.*;
 import org.springframework.web.reactive.function.client.WebClient;
 
@@ -27,6 +30,7 @@ public class AuthController {
     private final UserRepository userRepository;
     private final CoupleRepository coupleRepository;
     private final JwtTokenProvider jwtTokenProvider;
+    private final TokenVersionCache tokenVersionCache;
     private final WebClient.Builder webClientBuilder;
     
     @PostMapping("/kakao")
@@ -61,7 +65,7 @@ public class AuthController {
                     ));
             
             // JWT 토큰 생성
-            String token = jwtTokenProvider.createToken(user.getId().toString(), user.getEmail());
+            String token = jwtTokenProvider.createToken(user);
             
             // 사용자 온보딩 상태 확인
             Map<String, Object> onboardingStatus = getUserOnboardingStatus(user);
@@ -125,7 +129,7 @@ public class AuthController {
                     ));
             
             // JWT 토큰 생성
-            String token = jwtTokenProvider.createToken(user.getId().toString(), user.getEmail());
+            String token = jwtTokenProvider.createToken(user);
             
             // 사용자 온보딩 상태 확인
             Map<String, Object> onboardingStatus = getUserOnboardingStatus(user);
@@ -172,6 +176,22 @@ public class AuthController {
         }
     }
     
+    /**
+     * 발급된 모든 토큰 무효화 (모든 기기 로그아웃)
+     */
+    @PostMapping("/logout-all")
+    public ResponseEntity<?> logoutAll(@AuthenticationPrincipal CustomOAuth2User principal) {
+        if (principal == null) {
+            return ResponseEntity.status(HttpStatus.UNAUTHORIZED)
+                    .body(Map.of("error", "인증이 필요합니다."));
+        }
+        
+        userRepository.incrementTokenVersion(principal.getUserId());
+        tokenVersionCache.invalidate(principal.getUserId());
+        log.info("🟢 사용자 토큰 전체 무효화: userId={}", principal.getUserId());
+        return ResponseEntity.ok(Map.of("message", "모든 기기에서 로그아웃되었습니다."));
+    }
+    
     private Map<String, Object> getKakaoUserInfo(String accessToken) {
         return webClientBuilder.build()
                 .get()
@@ -387,7 +407,7 @@ public class AuthController {
                     ));
             
             // JWT 토큰 생성
-            String token = jwtTokenProvider.createToken(user.getId().toString(), user.getEmail());
+            String token = jwtTokenProvider.createToken(user);
             
             // 사용자 온보딩 상태 확인
             Map<String, Object> onboardingStatus = getUserOnboardingStatus(user);
@@ -1,15 +1,19 @@
 package com.todayus.controller;
 
+import com.todayus.dto.CursorDto;
 import com.todayus.dto.DiaryDto;
 import com.todayus.security.CustomOAuth2User;
+import com.todayus.service.DiaryAiStreamService;
 import com.todayus.service.DiaryService;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.data.domain.Page;
 import org.springframework.format.annotation.DateTimeFormat;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.security.core.annotation.AuthenticationPrincipal;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
 
 import jakarta.validation.Valid;
 import java.time.LocalDate;
@@ -24,6 +28,7 @@ import java.util.Map;
 public class DiaryController {
     
     private final DiaryService diaryService;
+    private final DiaryAiStreamService diaryAiStreamService;
     
     @PostMapping
     public ResponseEntity<DiaryDto.Response> createDiary(
@@ -83,6 +88,28 @@ public class DiaryController {
         }
     }
     
+    /**
+     * 커서 기반 일기 목록. 응답의 nextCursor를 다음 요청의 cursor로 전달
+     */
+    @GetMapping("/cursor")
+    public ResponseEntity<CursorDto.Response<DiaryDto.ListResponse>> getDiariesByCursor(
+            @AuthenticationPrincipal CustomOAuth2User user,
+            @RequestParam(required = false) String cursor,
+            @RequestParam(defaultValue = "20") int size) {
+        
+        try {
+            return ResponseEntity.ok(diaryService.getDiariesByCursor(user.getEmail(), cursor, size));
+            
+        } catch (IllegalArgumentException | IllegalStateException e) {
+            log.warn("Failed to get diaries for user {}: {}", user.getEmail(), e.getMessage());
+            return ResponseEntity.badRequest().build();
+            
+        } catch (Exception e) {
+            log.error("Error getting diaries for user {}: {}", user.getEmail(), e.getMessage(), e);
+            return ResponseEntity.internalServerError().build();
+        }
+    }
+    
     @GetMapping("/{diaryId}")
     public ResponseEntity<DiaryDto.Response> getDiary(
             @AuthenticationPrincipal CustomOAuth2User user,
@@ -104,6 +131,43 @@ public class DiaryController {
         }
     }
     
+    /**
+     * AI 분석 결과 스트리밍 (SSE)
+     * 분석 중이면 AI 댓글을 token 이벤트로 전달하고, 저장이 끝나면 done 이벤트 후 종료합니다.
+     * 이미 분석된 일기는 즉시 done 이벤트를 보냅니다.
+     */
+    @GetMapping(value = "/{diaryId}/ai/stream", produces = MediaType.TEXT_EVENT_STREAM_VALUE)
+    public ResponseEntity<SseEmitter> streamAiResult(
+            @AuthenticationPrincipal CustomOAuth2User user,
+            @PathVariable Long diaryId) {
+        
+        try {
+            DiaryDto.AiResult current = diaryService.getAiResult(user.getEmail(), diaryId);
+            if (current.isAiProcessed()) {
+                SseEmitter emitter = new SseEmitter();
+                diaryAiStreamService.completeWith(emitter, current);
+                return ResponseEntity.ok(emitter);
+            }
+            
+            SseEmitter emitter = diaryAiStreamService.subscribe(diaryId);
+            
+            // 구독 등록 직전에 분석이 끝났을 수 있으므로 한 번 더 확인
+            DiaryDto.AiResult latest = diaryService.getAiResult(user.getEmail(), diaryId);
+            if (latest.isAiProcessed()) {
+                diaryAiStreamService.complete(diaryId, latest);
+            }
+            return ResponseEntity.ok(emitter);
+            
+        } catch (IllegalStateException e) {
+            log.warn("Failed to stream AI result for diary {} by user {}: {}", diaryId, user.getEmail(), e.getMessage());
+            return ResponseEntity.badRequest().build();
+            
+        } catch (Exception e) {
+            log.error("Error streaming AI result for diary {} by user {}: {}", diaryId, user.getEmail(), e.getMessage(), e);
+            return ResponseEntity.internalServerError().build();
+        }
+    }
+    
     @PutMapping("/{diaryId}")
     public ResponseEntity<DiaryDto.Response> updateDiary(
             @AuthenticationPrincipal CustomOAuth2User user,
@@ -254,7 +318,7 @@ public class DiaryController {
         log.info("Getting weekly emotion summary for user: {}", user.getEmail());
         
         try {
-            String summary = diaryService.generateWeeklyEmotionSummary(user.getEmail());
+            String summary = diaryService.getWeeklyEmotionSummary(user.getEmail());
             return ResponseEntity.ok(summary);
             
         } catch (Exception e) {
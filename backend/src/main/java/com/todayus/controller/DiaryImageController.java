@@ -1,5 +1,6 @@
 package com.todayus.controller;
 
+import com.todayus.dto.UploadDto;
 import com.todayus.entity.Diary;
 import com.todayus.repository.DiaryRepository;
 import com.todayus.security.CustomOAuth2User;
@@ -168,4 +169,141 @@ public class DiaryImageController {
             return ResponseEntity.internalServerError().body(response);
         }
     }
-}
\ No newline at end of file
+
+    /**
+     * 일기 이미지 직접 업로드 URL 발급
+     * 클라이언트는 응답의 uploadUrl로 S3에 직접 PUT한 뒤 /{diaryId}/image/confirm을 호출합니다.
+     */
+    @PostMapping("/{diaryId}/image/upload-intent")
+    public ResponseEntity<Map<String, Object>> createDiaryImageUploadIntent(
+            @PathVariable Long diaryId,
+            @RequestBody UploadDto.IntentRequest request,
+            @AuthenticationPrincipal CustomOAuth2User principal) {
+
+        try {
+            Long userId = principal.getUserId();
+            Diary diary = diaryRepository.findById(diaryId)
+                    .orElseThrow(() -> new IllegalArgumentException("일기를 찾을 수 없습니다."));
+            if (!diary.isOwnedBy(userId)) {
+                throw new IllegalArgumentException("일기 수정 권한이 없습니다.");
+            }
+
+            Map<String, Object> response = new HashMap<>();
+            response.put("success", true);
+            response.put("upload", s3Service.createDiaryImageUploadIntent(userId, diaryId, request));
+            return ResponseEntity.ok(response);
+
+        } catch (IllegalArgumentException e) {
+            log.warn("Invalid upload intent for diary {}: {}", diaryId, e.getMessage());
+            return failure(ResponseEntity.badRequest(), e.getMessage());
+        } catch (Exception e) {
+            log.error("Error creating upload intent for diary {}", diaryId, e);
+            return failure(ResponseEntity.internalServerError(), "이미지 업로드 준비 중 오류가 발생했습니다.");
+        }
+    }
+
+    /**
+     * 직접 업로드한 일기 이미지를 확인하고 일기에 연결
+     */
+    @PostMapping("/{diaryId}/image/confirm")
+    public ResponseEntity<Map<String, Object>> confirmDiaryImageUpload(
+            @PathVariable Long diaryId,
+            @RequestBody UploadDto.ConfirmRequest request,
+            @AuthenticationPrincipal CustomOAuth2User principal) {
+
+        try {
+            Long userId = principal.getUserId();
+            Diary diary = diaryRepository.findById(diaryId)
+                    .orElseThrow(() -> new IllegalArgumentException("일기를 찾을 수 없습니다."));
+            if (!diary.isOwnedBy(userId)) {
+                throw new IllegalArgumentException("일기 수정 권한이 없습니다.");
+            }
+
+            String imageUrl = s3Service.confirmDiaryImageUpload(userId, diaryId, request.getKey());
+
+            // 기존 이미지가 있으면 삭제
+            if (diary.getImageUrl() != null && !diary.getImageUrl().isEmpty() && !diary.getImageUrl().equals(imageUrl)) {
+                try {
+                    s3Service.deleteDiaryImage(diary.getImageUrl());
+                } catch (Exception e) {
+                    log.warn("Failed to delete existing diary image for diary {}: {}", diaryId, e.getMessage());
+                }
+            }
+
+            diary.setImageUrl(imageUrl);
+            diaryRepository.save(diary);
+
+            Map<String, Object> response = new HashMap<>();
+            response.put("success", true);
+            response.put("message", "일기 이미지가 성공적으로 업로드되었습니다.");
+            response.put("imageUrl", imageUrl);
+
+            log.info("Diary image confirmed for diary {}: {}", diaryId, imageUrl);
+            return ResponseEntity.ok(response);
+
+        } catch (IllegalArgumentException e) {
+            log.warn("Invalid upload confirm for diary {}: {}", diaryId, e.getMessage());
+            return failure(ResponseEntity.badRequest(), e.getMessage());
+        } catch (Exception e) {
+            log.error("Error confirming diary image for diary {}", diaryId, e);
+            return failure(ResponseEntity.internalServerError(), "일기 이미지 업로드 중 오류가 발생했습니다.");
+        }
+    }
+
+    /**
+     * 작성 중인 일기용 직접 업로드 URL 발급 (일기 ID 없이)
+     */
+    @PostMapping("/upload-image/intent")
+    public ResponseEntity<Map<String, Object>> createUploadIntent(
+            @RequestBody UploadDto.IntentRequest request,
+            @AuthenticationPrincipal CustomOAuth2User principal) {
+
+        try {
+            Map<String, Object> response = new HashMap<>();
+            response.put("success", true);
+            response.put("upload", s3Service.createDiaryImageUploadIntent(principal.getUserId(), 0L, request));
+            return ResponseEntity.ok(response);
+
+        } catch (IllegalArgumentException e) {
+            log.warn("Invalid upload intent for user {}: {}", principal.getUserId(), e.getMessage());
+            return failure(ResponseEntity.badRequest(), e.getMessage());
+        } catch (Exception e) {
+            log.error("Error creating upload intent for user {}", principal.getUserId(), e);
+            return failure(ResponseEntity.internalServerError(), "이미지 업로드 준비 중 오류가 발생했습니다.");
+        }
+    }
+
+    /**
+     * 작성 중에 직접 업로드한 이미지 확인 후 키 반환 (일기 저장 시 imageKey로 전달)
+     * 저장하지 않은 이미지는 pending 경로에 남아 수명 주기 규칙으로 만료됩니다.
+     */
+    @PostMapping("/upload-image/confirm")
+    public ResponseEntity<Map<String, Object>> confirmUpload(
+            @RequestBody UploadDto.ConfirmRequest request,
+            @AuthenticationPrincipal CustomOAuth2User principal) {
+
+        try {
+            String imageKey = s3Service.verifyDraftDiaryImageUpload(principal.getUserId(), request.getKey());
+
+            Map<String, Object> response = new HashMap<>();
+            response.put("success", true);
+            response.put("message", "이미지가 성공적으로 업로드되었습니다.");
+            response.put("imageKey", imageKey);
+            return ResponseEntity.ok(response);
+
+        } catch (IllegalArgumentException e) {
+            log.warn("Invalid upload confirm for user {}: {}", principal.getUserId(), e.getMessage());
+            return failure(ResponseEntity.badRequest(), e.getMessage());
+        } catch (Exception e) {
+            log.error("Error confirming upload for user {}", principal.getUserId(), e);
+            return failure(ResponseEntity.internalServerError(), "이미지 업로드 중 오류가 발생했습니다.");
+        }
+    }
+
+    private static ResponseEntity<Map<String, Object>> failure(ResponseEntity.BodyBuilder status, String message) {
+        Map<String, Object> response = new HashMap<>();
+        response.put("success", false);
+        response.put("message", message);
+        return status.body(response);
+    }
+}
@@ -0,0 +1,65 @@
+package com.todayus.controller;
+
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.web.bind.annotation.PostMapping;
+import org.springframework.web.bind.annotation.RequestBody;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RestController;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * 오프라인 테스트용 FCM 멀티캐스트 스텁 (app.fcm.stub.enabled=true일 때만 등록)
+ * app.fcm.mode=http, app.fcm.endpoint=http://localhost:8080/fcm-stub 으로 설정하면
+ * FCMService가 실제 FCM 대신 이 엔드포인트로 발송합니다.
+ * "invalid-"로 시작하는 토큰은 UNREGISTERED로 응답합니다.
+ */
+@Slf4j
+@RestController
+@RequestMapping("/fcm-stub")
+@ConditionalOnProperty(name = "app.fcm.stub.enabled", havingValue = "true")
+public class FcmStubController {
+
+    private final AtomicLong sequence = new AtomicLong();
+
+    @Value("${app.fcm.stub.latency-ms:50}")
+    private long latencyMs;
+
+    @PostMapping("/send-multicast")
+    public Map<String, Object> sendMulticast(@RequestBody Map<String, Object> request) throws InterruptedException {
+        @SuppressWarnings("unchecked")
+        List<String> tokens = (List<String>) request.getOrDefault("tokens", List.of());
+        if (latencyMs > 0) {
+            TimeUnit.MILLISECONDS.sleep(latencyMs);
+        }
+
+        List<Map<String, Object>> responses = new ArrayList<>(tokens.size());
+        int failures = 0;
+        for (String token : tokens) {
+            Map<String, Object> response = new HashMap<>();
+            if (token.startsWith("invalid-")) {
+                response.put("success", false);
+                response.put("error", "UNREGISTERED");
+                failures++;
+            } else {
+                response.put("success", true);
+                response.put("messageId", "stub_" + sequence.incrementAndGet());
+            }
+            responses.add(response);
+        }
+        log.debug("FCM stub multicast: {} tokens, {} failures", tokens.size(), failures);
+
+        Map<String, Object> result = new HashMap<>();
+        result.put("successCount", tokens.size() - failures);
+        result.put("failureCount", failures);
+        result.put("responses", responses);
+        return result;
+    }
+}
@@ -0,0 +1,35 @@
+package com.todayus.controller;
+
+import com.todayus.dto.HomeDto;
+import com.todayus.security.CustomOAuth2User;
+import com.todayus.service.HomeService;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.http.ResponseEntity;
+import org.springframework.security.core.annotation.AuthenticationPrincipal;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RestController;
+
+@Slf4j
+@RestController
+@RequestMapping("/api/home")
+@RequiredArgsConstructor
+public class HomeController {
+    
+    private final HomeService homeService;
+    
+    /**
+     * 홈 화면 데이터 (오늘 일기 여부, 커플 요약, 최근 일기, 타임캡슐 요약, 기념일, 전달 대기 메시지)
+     */
+    @GetMapping
+    public ResponseEntity<HomeDto.Response> getHome(@AuthenticationPrincipal CustomOAuth2User user) {
+        try {
+            return ResponseEntity.ok(homeService.getHome(user.getEmail()));
+            
+        } catch (Exception e) {
+            log.error("Error getting home for user {}: {}", user.getEmail(), e.getMessage(), e);
+            return ResponseEntity.internalServerError().build();
+        }
+    }
+}
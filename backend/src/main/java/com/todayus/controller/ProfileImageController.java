@@ -1,5 +1,6 @@
 package com.todayus.controller;
 
+import com.todayus.dto.UploadDto;
 import com.todayus.entity.User;
 import com.todayus.repository.UserRepository;
 import com.todayus.security.CustomOAuth2User;
@@ -146,4 +147,80 @@ public class ProfileImageController {
             return ResponseEntity.internalServerError().body(response);
         }
     }
-}
\ No newline at end of file
+
+    /**
+     * 프로필 이미지 직접 업로드 URL 발급
+     * 클라이언트는 응답의 uploadUrl로 S3에 직접 PUT한 뒤 /image/confirm을 호출합니다.
+     */
+    @PostMapping("/image/upload-intent")
+    public ResponseEntity<Map<String, Object>> createProfileImageUploadIntent(
+            @RequestBody UploadDto.IntentRequest request,
+            @AuthenticationPrincipal CustomOAuth2User principal) {
+
+        try {
+            Map<String, Object> response = new HashMap<>();
+            response.put("success", true);
+            response.put("upload", s3Service.createProfileImageUploadIntent(principal.getUserId(), request));
+            return ResponseEntity.ok(response);
+
+        } catch (IllegalArgumentException e) {
+            log.warn("Invalid profile upload intent: {}", e.getMessage());
+            return failure(ResponseEntity.badRequest(), e.getMessage());
+        } catch (Exception e) {
+            log.error("Error creating profile upload intent", e);
+            return failure(ResponseEntity.internalServerError(), "프로필 이미지 업로드 준비 중 오류가 발생했습니다.");
+        }
+    }
+
+    /**
+     * 직접 업로드한 프로필 이미지를 확인하고 사용자에 연결
+     */
+    @PostMapping("/image/confirm")
+    public ResponseEntity<Map<String, Object>> confirmProfileImageUpload(
+            @RequestBody UploadDto.ConfirmRequest request,
+            @AuthenticationPrincipal CustomOAuth2User principal) {
+
+        try {
+            Long userId = principal.getUserId();
+            User user = userRepository.findById(userId)
+                    .orElseThrow(() -> new RuntimeException("사용자를 찾을 수 없습니다."));
+
+            String imageUrl = s3Service.confirmProfileImageUpload(userId, request.getKey());
+
+            // 기존 프로필 이미지가 있으면 삭제
+            if (user.getProfileImageUrl() != null && !user.getProfileImageUrl().isEmpty()
+                    && !user.getProfileImageUrl().equals(imageUrl)) {
+                try {
+                    s3Service.deleteProfileImage(user.getProfileImageUrl());
+                } catch (Exception e) {
+                    log.warn("Failed to delete existing profile image for user {}: {}", userId, e.getMessage());
+                }
+            }
+
+            user.setProfileImageUrl(imageUrl);
+            userRepository.save(user);
+
+            Map<String, Object> response = new HashMap<>();
+            response.put("success", true);
+            response.put("message", "프로필 이미지가 성공적으로 업로드되었습니다.");
+            response.put("profileImageUrl", imageUrl);
+
+            log.info("Profile image confirmed for user {}: {}", userId, imageUrl);
+            return ResponseEntity.ok(response);
+
+        } catch (IllegalArgumentException e) {
+            log.warn("Invalid profile upload confirm: {}", e.getMessage());
+            return failure(ResponseEntity.badRequest(), e.getMessage());
+        } catch (Exception e) {
+            log.error("Error confirming profile image", e);
+            return failure(ResponseEntity.internalServerError(), "프로필 이미지 업로드 중 오류가 발생했습니다.");
+        }
+    }
+
+    private static ResponseEntity<Map<String, Object>> failure(ResponseEntity.BodyBuilder status, String message) {
+        Map<String, Object> response = new HashMap<>();
+        response.put("success", false);
+        response.put("message", message);
+        return status.body(response);
+    }
+}
@@ -1,5 +1,6 @@
 package com.todayus.controller;
 
+import com.todayus.dto.CursorDto;
 import com.todayus.dto.TimeCapsuleDto;
 import com.todayus.security.CustomOAuth2User;
 import com.todayus.service.TimeCapsuleService;
@@ -64,6 +65,28 @@ public class TimeCapsuleController {
         }
     }
     
+    /**
+     * 커서 기반 타임캡슐 목록. 응답의 nextCursor를 다음 요청의 cursor로 전달
+     */
+    @GetMapping("/cursor")
+    public ResponseEntity<CursorDto.Response<TimeCapsuleDto.ListResponse>> getTimeCapsulesByCursor(
+            @AuthenticationPrincipal CustomOAuth2User user,
+            @RequestParam(required = false) String cursor,
+            @RequestParam(defaultValue = "20") int size) {
+        
+        try {
+            return ResponseEntity.ok(timeCapsuleService.getTimeCapsulesByCursor(user.getEmail(), cursor, size));
+            
+        } catch (IllegalArgumentException | IllegalStateException e) {
+            log.warn("Failed to get time capsules for user {}: {}", user.getEmail(), e.getMessage());
+            return ResponseEntity.badRequest().build();
+            
+        } catch (Exception e) {
+            log.error("Error getting time capsules for user {}: {}", user.getEmail(), e.getMessage(), e);
+            return ResponseEntity.internalServerError().build();
+        }
+    }
+    
     @GetMapping("/{timeCapsuleId}")
     public ResponseEntity<TimeCapsuleDto.Response> getTimeCapsule(
             @AuthenticationPrincipal CustomOAuth2User user,
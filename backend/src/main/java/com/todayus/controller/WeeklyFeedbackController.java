@@ -1,5 +1,6 @@
 package com.todayus.controller;
 
+import com.todayus.dto.CursorDto;
 import com.todayus.dto.WeeklyFeedbackDto;
 import com.todayus.security.CustomOAuth2User;
 import com.todayus.service.WeeklyFeedbackService;
@@ -111,6 +112,28 @@ public class WeeklyFeedbackController {
     /**
      * 특정 피드백 상세 조회
      */
+    /**
+     * 커서 기반 피드백 히스토리. 응답의 nextCursor를 다음 요청의 cursor로 전달
+     */
+    @GetMapping("/history/cursor")
+    public ResponseEntity<CursorDto.Response<WeeklyFeedbackDto.ListResponse>> getFeedbackHistoryByCursor(
+            @AuthenticationPrincipal CustomOAuth2User user,
+            @RequestParam(required = false) String cursor,
+            @RequestParam(defaultValue = "10") int size) {
+        
+        try {
+            return ResponseEntity.ok(weeklyFeedbackService.getFeedbackHistoryByCursor(user.getEmail(), cursor, size));
+            
+        } catch (IllegalArgumentException e) {
+            log.warn("Invalid feedback history request for user {}: {}", user.getEmail(), e.getMessage());
+            return ResponseEntity.badRequest().build();
+            
+        } catch (Exception e) {
+            log.error("Error getting feedback history for user {}: {}", user.getEmail(), e.getMessage(), e);
+            return ResponseEntity.internalServerError().build();
+        }
+    }
+    
     @GetMapping("/{feedbackId}")
     public ResponseEntity<WeeklyFeedbackDto.Response> getFeedback(
             @AuthenticationPrincipal CustomOAuth2User user,
@@ -0,0 +1,99 @@
+package com.todayus.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.format.DateTimeParseException;
+import java.util.Base64;
+import java.util.List;
+import java.util.function.Function;
+
+/**
+ * 커서(keyset) 페이지네이션
+ * 커서는 마지막 항목의 정렬 키를 "|"로 이어 Base64(URL-safe)로 인코딩한 불투명 문자열입니다.
+ */
+public class CursorDto {
+    
+    public static final int MAX_SIZE = 100;
+    
+    private static final String SEPARATOR = "|";
+    
+    @Getter
+    @NoArgsConstructor
+    @AllArgsConstructor
+    @Builder
+    public static class Response<T> {
+        private List<T> content;
+        private String nextCursor;
+        private boolean hasNext;
+        
+        /**
+         * 조회 결과와 다음 페이지 존재 여부로 응답 생성. 다음 페이지가 있으면 마지막 항목으로 커서를 만든다
+         */
+        public static <T> Response<T> of(List<T> content, boolean hasNext, Function<T, String> cursorOf) {
+            String nextCursor = hasNext && !content.isEmpty() ? cursorOf.apply(content.get(content.size() - 1)) : null;
+            return new Response<>(content, nextCursor, hasNext);
+        }
+    }
+    
+    public static String encode(Object... keys) {
+        StringBuilder raw = new StringBuilder();
+        for (int i = 0; i < keys.length; i++) {
+            if (i > 0) {
+                raw.append(SEPARATOR);
+            }
+            raw.append(keys[i]);
+        }
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(raw.toString().getBytes(StandardCharsets.UTF_8));
+    }
+    
+    /**
+     * 커서를 정렬 키 문자열로 분리. 형식이 맞지 않으면 IllegalArgumentException
+     */
+    public static String[] decode(String cursor, int expectedKeys) {
+        String raw;
+        try {
+            raw = new String(Base64.getUrlDecoder().decode(cursor), StandardCharsets.UTF_8);
+        } catch (IllegalArgumentException e) {
+            throw new IllegalArgumentException("유효하지 않은 커서입니다.", e);
+        }
+        String[] keys = raw.split("\\" + SEPARATOR, -1);
+        if (keys.length != expectedKeys) {
+            throw new IllegalArgumentException("유효하지 않은 커서입니다.");
+        }
+        return keys;
+    }
+    
+    public static LocalDate toDate(String key) {
+        try {
+            return LocalDate.parse(key);
+        } catch (DateTimeParseException e) {
+            throw new IllegalArgumentException("유효하지 않은 커서입니다.", e);
+        }
+    }
+    
+    public static LocalDateTime toDateTime(String key) {
+        try {
+            return LocalDateTime.parse(key);
+        } catch (DateTimeParseException e) {
+            throw new IllegalArgumentException("유효하지 않은 커서입니다.", e);
+        }
+    }
+    
+    public static Long toId(String key) {
+        try {
+            return Long.valueOf(key);
+        } catch (NumberFormatException e) {
+            throw new IllegalArgumentException("유효하지 않은 커서입니다.", e);
+        }
+    }
+    
+    public static int clampSize(int size) {
+        return Math.max(1, Math.min(size, MAX_SIZE));
+    }
+}
@@ -33,6 +33,8 @@ public class DiaryDto {
         private String moodEmoji;
         
         private String imageUrl;
+        
+        private String imageKey;   // /upload-image/confirm으로 확인한 직접 업로드 키 (imageUrl보다 우선)
     }
     
     @Getter
@@ -141,6 +143,47 @@ public class DiaryDto {
                     .commentCount(commentCount)
                     .build();
         }
+        
+        public static ListResponse from(ListRow row) {
+            return ListResponse.builder()
+                    .id(row.getId())
+                    .title(row.getTitle())
+                    .diaryDate(row.getDiaryDate())
+                    .moodEmoji(row.getMoodEmoji())
+                    .imageUrl(row.getImageUrl())
+                    .aiEmotion(row.getAiEmotion())
+                    .aiProcessed(Boolean.TRUE.equals(row.getAiProcessed()))
+                    .createdAt(row.getCreatedAt())
+                    .author(UserInfo.builder()
+                            .id(row.getUserId())
+                            .nickname(row.getNickname())
+                            .email(row.getEmail())
+                            .profileImageUrl(row.getProfileImageUrl())
+                            .build())
+                    .commentCount(row.getCommentCount())
+                    .build();
+        }
+    }
+    
+    /**
+     * DiaryRepository 목록 조회 결과 행 (JPQL 생성자 표현식, 컬럼 순서는 DiaryRepository.LIST_ROW_SELECT)
+     */
+    @Getter
+    @AllArgsConstructor
+    public static class ListRow {
+        private Long id;
+        private String title;
+        private LocalDate diaryDate;
+        private String moodEmoji;
+        private String imageUrl;
+        private String aiEmotion;
+        private Boolean aiProcessed;
+        private LocalDateTime createdAt;
+        private Long userId;
+        private String nickname;
+        private String email;
+        private String profileImageUrl;
+        private Long commentCount;
     }
     
     @Getter
@@ -172,6 +215,27 @@ public class DiaryDto {
         }
     }
     
+    @Getter
+    @Setter
+    @NoArgsConstructor
+    @AllArgsConstructor
+    @Builder
+    public static class AiResult {
+        private Long diaryId;
+        private boolean aiProcessed;
+        private String aiEmotion;
+        private String aiComment;
+        
+        public static AiResult from(Diary diary) {
+            return AiResult.builder()
+                    .diaryId(diary.getId())
+                    .aiProcessed(Boolean.TRUE.equals(diary.getAiProcessed()))
+                    .aiEmotion(diary.getAiEmotion())
+                    .aiComment(diary.getAiComment())
+                    .build();
+        }
+    }
+    
     @Getter
     @Setter
     @NoArgsConstructor
@@ -181,12 +245,14 @@ public class DiaryDto {
         private Long id;
         private String nickname;
         private String email;
+        private String profileImageUrl;
         
         public static UserInfo from(com.todayus.entity.User user) {
             return UserInfo.builder()
                     .id(user.getId())
                     .nickname(user.getNickname())
                     .email(user.getEmail())
+                    .profileImageUrl(user.getProfileImageUrl())
                     .build();
         }
     }
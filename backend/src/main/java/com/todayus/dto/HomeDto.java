@@ -0,0 +1,31 @@
+package com.todayus.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+import java.util.Map;
+
+public class HomeDto {
+    
+    /**
+     * 홈 화면 집계 응답. 조회하지 못한 항목은 null로 내려가며,
+     * 이름이 timedOutSections(시간 초과) 또는 failedSections(오류)에 담겨 "데이터 없음"과 구분된다
+     */
+    @Getter
+    @NoArgsConstructor
+    @AllArgsConstructor
+    @Builder
+    public static class Response {
+        private boolean todayDiaryExists;
+        private Map<String, Object> coupleSummary;
+        private List<DiaryDto.Response> recentDiaries;
+        private TimeCapsuleDto.Summary timeCapsuleSummary;
+        private AnniversaryDto.Response anniversary;
+        private CoupleMessageDto.PopupResponse popupMessage;
+        private List<String> timedOutSections;
+        private List<String> failedSections;
+    }
+}
@@ -0,0 +1,45 @@
+package com.todayus.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDateTime;
+import java.util.Map;
+
+public class UploadDto {
+
+    @Data
+    @Builder
+    @NoArgsConstructor
+    @AllArgsConstructor
+    public static class IntentRequest {
+        private String contentType;   // image/jpeg, image/png, image/gif, image/webp
+        private Long contentLength;   // 바이트 단위, 업로드 시 같은 값의 Content-Length로 보내야 함
+    }
+
+    /**
+     * 클라이언트가 uploadUrl로 직접 PUT 업로드할 때 필요한 정보
+     * headers는 서명에 포함되어 있으므로 그대로 보내야 합니다.
+     */
+    @Data
+    @Builder
+    @NoArgsConstructor
+    @AllArgsConstructor
+    public static class IntentResponse {
+        private String uploadUrl;
+        private String method;
+        private String key;
+        private Map<String, String> headers;
+        private LocalDateTime expiresAt;
+    }
+
+    @Data
+    @Builder
+    @NoArgsConstructor
+    @AllArgsConstructor
+    public static class ConfirmRequest {
+        private String key;
+    }
+}
@@ -0,0 +1,84 @@
+package com.todayus.entity;
+
+import jakarta.persistence.*;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+
+import java.time.LocalDateTime;
+
+/**
+ * AI 처리 작업 큐
+ * 행 생성/상태 변경은 AiJobRepository의 네이티브 쿼리로만 수행하며, 시각은 모두 DB 시계(now()) 기준입니다.
+ */
+@Entity
+@Table(name = "ai_jobs",
+       uniqueConstraints = {
+           @UniqueConstraint(name = "uk_ai_jobs_type_target", columnNames = {"job_type", "target_id"})
+       },
+       indexes = {
+           @Index(name = "idx_ai_jobs_status_next_run", columnList = "status, next_run_at")
+       })
+@Getter
+@Setter
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class AiJob {
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+
+    @Enumerated(EnumType.STRING)
+    @Column(name = "job_type", nullable = false, length = 40)
+    private JobType jobType;
+
+    @Column(name = "target_id", nullable = false)
+    private Long targetId;
+
+    @Enumerated(EnumType.STRING)
+    @Column(name = "status", nullable = false, length = 20)
+    private JobStatus status;
+
+    @Column(name = "attempts", nullable = false)
+    private Integer attempts;
+
+    @Column(name = "next_run_at", nullable = false)
+    private LocalDateTime nextRunAt;
+
+    @Column(name = "locked_by")
+    private String lockedBy;
+
+    @Column(name = "locked_at")
+    private LocalDateTime lockedAt;
+
+    @Column(name = "claim_token", length = 36)
+    private String claimToken;
+
+    @Column(name = "last_error", columnDefinition = "TEXT")
+    private String lastError;
+
+    @Column(name = "created_at", nullable = false)
+    private LocalDateTime createdAt;
+
+    @Column(name = "updated_at", nullable = false)
+    private LocalDateTime updatedAt;
+
+    public enum JobType {
+        DIARY_ANALYSIS,     // 일기 감정 분석 + AI 댓글
+        COUPLE_MESSAGE,     // 대신 전달하기 메시지 순화
+        WEEKLY_FEEDBACK,    // 주간 서운함 피드백 순화
+        COUPLE_DAILY_SUMMARY, // 커플 하루 요약 (target_id: 마지막으로 분석이 끝난 일기 ID)
+        WEEKLY_EMOTION_SUMMARY // 최근 7일 감정 요약 (target_id: 커플 ID)
+    }
+
+    public enum JobStatus {
+        PENDING,    // 실행 대기 (next_run_at 이후 실행)
+        RUNNING,    // 워커가 점유 중
+        DONE,       // 완료
+        FAILED      // 최대 재시도 초과
+    }
+}
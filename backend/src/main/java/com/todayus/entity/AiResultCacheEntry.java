@@ -0,0 +1,39 @@
+package com.todayus.entity;
+
+import jakarta.persistence.*;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+
+import java.time.LocalDateTime;
+
+/**
+ * 일기 AI 분석 결과 캐시 (프롬프트 버전 + 정규화된 제목/내용의 SHA-256 기준)
+ */
+@Entity
+@Table(name = "ai_result_cache")
+@Getter
+@Setter
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class AiResultCacheEntry {
+
+    @Id
+    @Column(name = "content_hash", length = 64)
+    private String contentHash;
+
+    @Column(name = "emotion", nullable = false, length = 10)
+    private String emotion;
+
+    @Column(name = "description", nullable = false, length = 50)
+    private String description;
+
+    @Column(name = "comment", nullable = false, columnDefinition = "TEXT")
+    private String comment;
+
+    @Column(name = "created_at", nullable = false)
+    private LocalDateTime createdAt;
+}
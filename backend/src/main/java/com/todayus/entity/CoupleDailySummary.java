@@ -0,0 +1,47 @@
+package com.todayus.entity;
+
+import jakarta.persistence.*;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+
+/**
+ * 커플의 하루 일기 AI 요약
+ * 두 사람의 일기 AI 처리가 모두 끝나면 한 번 생성되고, 일기가 수정/삭제되면 지워집니다.
+ */
+@Entity
+@Table(name = "couple_daily_summaries",
+       uniqueConstraints = {
+           @UniqueConstraint(name = "uk_couple_daily_summaries_couple_date", columnNames = {"couple_id", "summary_date"})
+       })
+@Getter
+@Setter
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class CoupleDailySummary {
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+
+    @Column(name = "couple_id", nullable = false)
+    private Long coupleId;
+
+    @Column(name = "summary_date", nullable = false)
+    private LocalDate summaryDate;
+
+    @Column(name = "summary", nullable = false, columnDefinition = "TEXT")
+    private String summary;
+
+    @Column(name = "created_at", nullable = false)
+    private LocalDateTime createdAt;
+
+    @Column(name = "updated_at", nullable = false)
+    private LocalDateTime updatedAt;
+}
@@ -0,0 +1,35 @@
+package com.todayus.entity;
+
+import jakarta.persistence.*;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+
+/**
+ * 사용자 → 연결된 커플 조회용 비정규화 테이블
+ * couples의 user1/user2 OR 조건 대신 user_id 기본키로 조회합니다. 연결(CONNECTED)된 커플의 두 사용자만 행을 가집니다.
+ */
+@Entity
+@Table(name = "couple_members",
+       indexes = {
+           @Index(name = "idx_couple_members_couple", columnList = "couple_id")
+       })
+@Getter
+@Setter
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class CoupleMember {
+
+    @Id
+    @Column(name = "user_id")
+    private Long userId;
+
+    @Column(name = "couple_id", nullable = false)
+    private Long coupleId;
+
+    @Column(name = "partner_id", nullable = false)
+    private Long partnerId;
+}
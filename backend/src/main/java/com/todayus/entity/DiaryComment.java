@@ -31,8 +31,8 @@ public class DiaryComment {
     private Diary diary;
     
     @ManyToOne(fetch = FetchType.LAZY)
-    @JoinColumn(name = "user_id", nullable = false, foreignKey = @ForeignKey(value = ConstraintMode.NO_CONSTRAINT))
-    private User user;
+    @JoinColumn(name = "user_id", foreignKey = @ForeignKey(value = ConstraintMode.NO_CONSTRAINT))
+    private User user; // AI 코멘트는 null
     
     @Column(nullable = false, columnDefinition = "TEXT")
     private String content;
@@ -58,11 +58,11 @@ public class DiaryComment {
     }
     
     public boolean isOwnedBy(User user) {
-        return this.user.equals(user);
+        return this.user != null && this.user.equals(user);
     }
     
     public boolean isOwnedBy(Long userId) {
-        return this.user.getId().equals(userId);
+        return this.user != null && this.user.getId().equals(userId);
     }
     
     public boolean isAiComment() {
@@ -0,0 +1,73 @@
+package com.todayus.entity;
+
+import jakarta.persistence.*;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+
+import java.time.LocalDateTime;
+
+/**
+ * 알림 outbox
+ * 도메인 상태 변경과 같은 트랜잭션에서 NotificationOutboxRepository의 네이티브 쿼리로 기록하고,
+ * NotificationOutboxRelay가 배치로 읽어 발송합니다. 같은 이벤트/수신자는 한 번만 기록됩니다.
+ */
+@Entity
+@Table(name = "notification_outbox",
+       uniqueConstraints = {
+           @UniqueConstraint(name = "uk_notification_outbox_event", columnNames = {"event_type", "aggregate_id", "recipient_user_id"})
+       })
+@Getter
+@Setter
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class NotificationOutbox {
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+
+    @Enumerated(EnumType.STRING)
+    @Column(name = "event_type", nullable = false, length = 40)
+    private EventType eventType;
+
+    @Column(name = "aggregate_id", nullable = false)
+    private Long aggregateId;
+
+    @Column(name = "recipient_user_id", nullable = false)
+    private Long recipientUserId;
+
+    @Enumerated(EnumType.STRING)
+    @Column(name = "status", nullable = false, length = 20)
+    private Status status;
+
+    @Column(name = "attempts", nullable = false)
+    private Integer attempts;
+
+    @Column(name = "next_run_at", nullable = false)
+    private LocalDateTime nextRunAt;
+
+    @Column(name = "last_error", columnDefinition = "TEXT")
+    private String lastError;
+
+    @Column(name = "created_at", nullable = false)
+    private LocalDateTime createdAt;
+
+    @Column(name = "processed_at")
+    private LocalDateTime processedAt;
+
+    public enum EventType {
+        COUPLE_MESSAGE_READY,       // 대신 전달하기 메시지 순화 완료 (aggregate_id: couple_messages.id)
+        WEEKLY_FEEDBACK_DELIVERED,  // 주간 피드백 전달 (aggregate_id: weekly_feedbacks.id)
+        TIME_CAPSULE_OPENABLE       // 타임캡슐 오픈 가능 (aggregate_id: time_capsules.id)
+    }
+
+    public enum Status {
+        PENDING,    // 발송 대기 (next_run_at 이후)
+        SENT,       // 발송 완료
+        FAILED      // 최대 재시도 초과
+    }
+}
@@ -0,0 +1,40 @@
+package com.todayus.entity;
+
+import jakarta.persistence.*;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+
+import java.time.LocalDateTime;
+
+/**
+ * 스케줄 작업 실행 기록
+ * ScheduledRunRepository의 네이티브 쿼리로 (job_name, run_key)를 먼저 기록한 인스턴스만 해당 회차를 실행합니다.
+ */
+@Entity
+@Table(name = "scheduled_runs",
+       uniqueConstraints = {
+           @UniqueConstraint(name = "uk_scheduled_runs_job_run", columnNames = {"job_name", "run_key"})
+       })
+@Getter
+@Setter
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class ScheduledRun {
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+
+    @Column(name = "job_name", nullable = false, length = 100)
+    private String jobName;
+
+    @Column(name = "run_key", nullable = false, length = 40)
+    private String runKey;
+
+    @Column(name = "started_at", nullable = false)
+    private LocalDateTime startedAt;
+}
@@ -52,6 +52,11 @@ public class User {
     @Column(nullable = false)
     private Role role;
     
+    // JWT 무효화용 버전. 토큰의 tv 클레임과 다르면 인증 거부
+    @Builder.Default
+    @Column(nullable = false, columnDefinition = "integer not null default 0")
+    private Integer tokenVersion = 0;
+    
     @CreatedDate
     @Column(nullable = false, updatable = false)
     private LocalDateTime createdAt;
@@ -46,9 +46,4 @@ public class UserDevice {
         registeredAt = LocalDateTime.now();
         lastUsedAt = LocalDateTime.now();
     }
-    
-    @PreUpdate
-    protected void onUpdate() {
-        lastUsedAt = LocalDateTime.now();
-    }
 }
\ No newline at end of file
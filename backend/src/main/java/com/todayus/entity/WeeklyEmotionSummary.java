@@ -0,0 +1,44 @@
+package com.todayus.entity;
+
+import jakarta.persistence.*;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+
+/**
+ * 커플별 최근 7일 감정 요약
+ * fingerprint는 요약을 만들 때 사용한 일기 집합의 지문으로, 바뀐 경우에만 다시 생성합니다.
+ */
+@Entity
+@Table(name = "weekly_emotion_summaries")
+@Getter
+@Setter
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class WeeklyEmotionSummary {
+
+    @Id
+    @Column(name = "couple_id")
+    private Long coupleId;
+
+    @Column(name = "window_start", nullable = false)
+    private LocalDate windowStart;
+
+    @Column(name = "window_end", nullable = false)
+    private LocalDate windowEnd;
+
+    @Column(name = "fingerprint", nullable = false, length = 100)
+    private String fingerprint;
+
+    @Column(name = "summary", nullable = false, columnDefinition = "TEXT")
+    private String summary;
+
+    @Column(name = "generated_at", nullable = false)
+    private LocalDateTime generatedAt;
+}
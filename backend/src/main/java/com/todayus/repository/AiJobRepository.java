@@ -0,0 +1,136 @@
+package com.todayus.repository;
+
+import com.todayus.entity.AiJob;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.util.List;
+
+@Repository
+public interface AiJobRepository extends JpaRepository<AiJob, Long> {
+
+    /**
+     * 작업 등록 (이미 있으면 대기 상태로 초기화)
+     * 실행 중인 작업은 claim_token이 지워지므로 완료 처리가 무시되고 다시 실행됩니다.
+     */
+    @Modifying
+    @Query(value = "INSERT INTO ai_jobs (job_type, target_id, status, attempts, next_run_at, created_at, updated_at) " +
+                   "VALUES (:jobType, :targetId, 'PENDING', 0, now(), now(), now()) " +
+                   "ON CONFLICT (job_type, target_id) DO UPDATE SET " +
+                   "status = 'PENDING', attempts = 0, next_run_at = now(), locked_by = NULL, locked_at = NULL, " +
+                   "claim_token = NULL, last_error = NULL, updated_at = now()",
+           nativeQuery = true)
+    int enqueue(@Param("jobType") String jobType, @Param("targetId") Long targetId);
+
+    /**
+     * delayMillis 뒤에 실행되도록 작업 등록 (이미 있으면 대기 상태로 초기화)
+     */
+    @Modifying
+    @Query(value = "INSERT INTO ai_jobs (job_type, target_id, status, attempts, next_run_at, created_at, updated_at) " +
+                   "VALUES (:jobType, :targetId, 'PENDING', 0, now() + (:delayMillis * interval '1 millisecond'), now(), now()) " +
+                   "ON CONFLICT (job_type, target_id) DO UPDATE SET " +
+                   "status = 'PENDING', attempts = 0, next_run_at = EXCLUDED.next_run_at, locked_by = NULL, locked_at = NULL, " +
+                   "claim_token = NULL, last_error = NULL, updated_at = now()",
+           nativeQuery = true)
+    int enqueueAfter(@Param("jobType") String jobType, @Param("targetId") Long targetId, @Param("delayMillis") long delayMillis);
+
+    /**
+     * 실행 가능한 작업 ID를 잠금과 함께 조회 (다른 워커가 잠근 행은 건너뜀)
+     */
+    @Query(value = "SELECT id FROM ai_jobs WHERE status = 'PENDING' AND next_run_at <= now() " +
+                   "ORDER BY next_run_at LIMIT :limit FOR UPDATE SKIP LOCKED",
+           nativeQuery = true)
+    List<Long> lockRunnableJobIds(@Param("limit") int limit);
+
+    @Modifying(clearAutomatically = true)
+    @Query(value = "UPDATE ai_jobs SET status = 'RUNNING', locked_by = :workerId, locked_at = now(), " +
+                   "claim_token = :claimToken, attempts = attempts + 1, updated_at = now() WHERE id IN (:ids)",
+           nativeQuery = true)
+    int markRunning(@Param("ids") List<Long> ids, @Param("workerId") String workerId, @Param("claimToken") String claimToken);
+
+    @Modifying
+    @Query(value = "UPDATE ai_jobs SET status = 'DONE', locked_by = NULL, locked_at = NULL, claim_token = NULL, " +
+                   "last_error = NULL, updated_at = now() WHERE id = :id AND claim_token = :claimToken",
+           nativeQuery = true)
+    int markDone(@Param("id") Long id, @Param("claimToken") String claimToken);
+
+    @Modifying
+    @Query(value = "UPDATE ai_jobs SET status = 'PENDING', next_run_at = now() + (:delaySeconds * interval '1 second'), " +
+                   "locked_by = NULL, locked_at = NULL, claim_token = NULL, last_error = :error, updated_at = now() " +
+                   "WHERE id = :id AND claim_token = :claimToken",
+           nativeQuery = true)
+    int reschedule(@Param("id") Long id, @Param("claimToken") String claimToken,
+                   @Param("delaySeconds") long delaySeconds, @Param("error") String error);
+
+    /**
+     * 실행 풀이 포화되어 제출하지 못한 작업을 시도 횟수 차감 후 대기 상태로 되돌림
+     * next_run_at을 미뤄 다음 폴링에서 곧바로 다시 점유되지 않게 한다
+     */
+    @Modifying
+    @Query(value = "UPDATE ai_jobs SET status = 'PENDING', attempts = attempts - 1, " +
+                   "next_run_at = now() + (:delaySeconds * interval '1 second'), locked_by = NULL, locked_at = NULL, " +
+                   "claim_token = NULL, updated_at = now() WHERE id = :id AND claim_token = :claimToken",
+           nativeQuery = true)
+    int release(@Param("id") Long id, @Param("claimToken") String claimToken,
+                @Param("delaySeconds") long delaySeconds);
+
+    @Modifying
+    @Query(value = "UPDATE ai_jobs SET status = 'FAILED', locked_by = NULL, locked_at = NULL, claim_token = NULL, " +
+                   "last_error = :error, updated_at = now() WHERE id = :id AND claim_token = :claimToken",
+           nativeQuery = true)
+    int markFailed(@Param("id") Long id, @Param("claimToken") String claimToken, @Param("error") String error);
+
+    /**
+     * 점유 시간이 만료된 작업(워커 종료/장애)을 다시 대기 상태로 전환
+     */
+    @Modifying
+    @Query(value = "UPDATE ai_jobs SET status = 'PENDING', next_run_at = now(), locked_by = NULL, locked_at = NULL, " +
+                   "claim_token = NULL, updated_at = now() " +
+                   "WHERE status = 'RUNNING' AND locked_at < now() - (:leaseSeconds * interval '1 second')",
+           nativeQuery = true)
+    int releaseExpiredLeases(@Param("leaseSeconds") long leaseSeconds);
+
+    /**
+     * 큐 도입 이전에 생성되어 작업 행이 없는 대기 데이터 등록
+     */
+    @Modifying
+    @Query(value = "INSERT INTO ai_jobs (job_type, target_id, status, attempts, next_run_at, created_at, updated_at) " +
+                   "SELECT 'DIARY_ANALYSIS', d.id, 'PENDING', 0, now(), now(), now() FROM diaries d " +
+                   "WHERE d.ai_processed = false " +
+                   "ON CONFLICT (job_type, target_id) DO NOTHING",
+           nativeQuery = true)
+    int backfillDiaryJobs();
+
+    @Modifying
+    @Query(value = "INSERT INTO ai_jobs (job_type, target_id, status, attempts, next_run_at, created_at, updated_at) " +
+                   "SELECT 'COUPLE_MESSAGE', cm.id, 'PENDING', 0, now(), now(), now() FROM couple_messages cm " +
+                   "WHERE cm.status = 'PENDING' " +
+                   "ON CONFLICT (job_type, target_id) DO NOTHING",
+           nativeQuery = true)
+    int backfillCoupleMessageJobs();
+
+    @Modifying
+    @Query(value = "INSERT INTO ai_jobs (job_type, target_id, status, attempts, next_run_at, created_at, updated_at) " +
+                   "SELECT 'WEEKLY_FEEDBACK', wf.id, 'PENDING', 0, now(), now(), now() FROM weekly_feedbacks wf " +
+                   "WHERE wf.status IN ('PENDING', 'PROCESSING') " +
+                   "ON CONFLICT (job_type, target_id) DO NOTHING",
+           nativeQuery = true)
+    int backfillWeeklyFeedbackJobs();
+
+    /**
+     * 두 일기의 분석이 끝났는데 요약이 없는 오늘 커플 요약 (대상은 그날 마지막 일기)
+     */
+    @Modifying
+    @Query(value = "INSERT INTO ai_jobs (job_type, target_id, status, attempts, next_run_at, created_at, updated_at) " +
+                   "SELECT 'COUPLE_DAILY_SUMMARY', MAX(d.id), 'PENDING', 0, now(), now(), now() FROM diaries d " +
+                   "WHERE d.status = 'PUBLISHED' AND d.diary_date = CURRENT_DATE " +
+                   "AND NOT EXISTS (SELECT 1 FROM couple_daily_summaries s " +
+                   "WHERE s.couple_id = d.couple_id AND s.summary_date = d.diary_date) " +
+                   "GROUP BY d.couple_id HAVING COUNT(*) >= 2 AND bool_and(d.ai_processed) " +
+                   "ON CONFLICT (job_type, target_id) DO NOTHING",
+           nativeQuery = true)
+    int backfillCoupleDailySummaryJobs();
+}
@@ -0,0 +1,49 @@
+package com.todayus.repository;
+
+import com.todayus.entity.AiResultCacheEntry;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.LocalDateTime;
+import java.util.Optional;
+
+@Repository
+public interface AiResultCacheRepository extends JpaRepository<AiResultCacheEntry, String> {
+
+    /**
+     * staleBefore 이후에 저장된 결과 조회 (그보다 오래된 행은 정리 대상)
+     */
+    @Query("SELECT e FROM AiResultCacheEntry e WHERE e.contentHash = :contentHash AND e.createdAt >= :staleBefore")
+    Optional<AiResultCacheEntry> findFresh(@Param("contentHash") String contentHash,
+                                           @Param("staleBefore") LocalDateTime staleBefore);
+
+    /**
+     * 결과 저장 (같은 해시가 있으면 staleBefore보다 오래된 경우에만 교체)
+     */
+    @Modifying
+    @Transactional
+    @Query(value = "INSERT INTO ai_result_cache (content_hash, emotion, description, comment, created_at) " +
+                   "VALUES (:contentHash, :emotion, :description, :comment, now()) " +
+                   "ON CONFLICT (content_hash) DO UPDATE SET emotion = EXCLUDED.emotion, " +
+                   "description = EXCLUDED.description, comment = EXCLUDED.comment, created_at = EXCLUDED.created_at " +
+                   "WHERE ai_result_cache.created_at < :staleBefore",
+           nativeQuery = true)
+    int insertOrReplaceStale(@Param("contentHash") String contentHash, @Param("emotion") String emotion,
+                             @Param("description") String description, @Param("comment") String comment,
+                             @Param("staleBefore") LocalDateTime staleBefore);
+
+    /**
+     * cutoff 이전에 저장된 결과를 최대 limit개 삭제 (정리용, 한 번에 잠그는 행 수 제한)
+     */
+    @Modifying
+    @Transactional
+    @Query(value = "DELETE FROM ai_result_cache WHERE content_hash IN (" +
+                   "SELECT content_hash FROM ai_result_cache WHERE created_at < :cutoff " +
+                   "LIMIT :limit FOR UPDATE SKIP LOCKED)",
+           nativeQuery = true)
+    int deleteCreatedBefore(@Param("cutoff") LocalDateTime cutoff, @Param("limit") int limit);
+}
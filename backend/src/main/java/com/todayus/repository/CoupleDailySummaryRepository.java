@@ -0,0 +1,30 @@
+package com.todayus.repository;
+
+import com.todayus.entity.CoupleDailySummary;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.LocalDate;
+import java.util.Optional;
+
+@Repository
+public interface CoupleDailySummaryRepository extends JpaRepository<CoupleDailySummary, Long> {
+
+    Optional<CoupleDailySummary> findByCoupleIdAndSummaryDate(Long coupleId, LocalDate summaryDate);
+
+    @Modifying
+    @Transactional
+    @Query(value = "INSERT INTO couple_daily_summaries (couple_id, summary_date, summary, created_at, updated_at) " +
+                   "VALUES (:coupleId, :summaryDate, :summary, now(), now()) " +
+                   "ON CONFLICT (couple_id, summary_date) DO UPDATE SET summary = EXCLUDED.summary, updated_at = now()",
+           nativeQuery = true)
+    int upsert(@Param("coupleId") Long coupleId, @Param("summaryDate") LocalDate summaryDate, @Param("summary") String summary);
+
+    @Modifying
+    @Query("DELETE FROM CoupleDailySummary s WHERE s.coupleId = :coupleId AND s.summaryDate = :summaryDate")
+    int deleteByCoupleIdAndSummaryDate(@Param("coupleId") Long coupleId, @Param("summaryDate") LocalDate summaryDate);
+}
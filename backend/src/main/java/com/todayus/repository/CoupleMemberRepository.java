@@ -0,0 +1,25 @@
+package com.todayus.repository;
+
+import com.todayus.entity.CoupleMember;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+import org.springframework.transaction.annotation.Transactional;
+
+@Repository
+public interface CoupleMemberRepository extends JpaRepository<CoupleMember, Long> {
+
+    @Modifying
+    @Transactional
+    @Query(value = "INSERT INTO couple_members (user_id, couple_id, partner_id) VALUES (:userId, :coupleId, :partnerId) " +
+                   "ON CONFLICT (user_id) DO UPDATE SET couple_id = EXCLUDED.couple_id, partner_id = EXCLUDED.partner_id",
+           nativeQuery = true)
+    int upsert(@Param("userId") Long userId, @Param("coupleId") Long coupleId, @Param("partnerId") Long partnerId);
+
+    @Modifying
+    @Transactional
+    @Query("DELETE FROM CoupleMember m WHERE m.coupleId = :coupleId")
+    int deleteByCoupleId(@Param("coupleId") Long coupleId);
+}
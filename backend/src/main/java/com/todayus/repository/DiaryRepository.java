@@ -1,26 +1,54 @@
 package com.todayus.repository;
 
+import com.todayus.dto.DiaryDto;
 import com.todayus.entity.Couple;
 import com.todayus.entity.Diary;
 import com.todayus.entity.User;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
 import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
 import java.time.LocalDate;
+import java.time.LocalDateTime;
 import java.util.List;
 import java.util.Optional;
 
 @Repository
 public interface DiaryRepository extends JpaRepository<Diary, Long> {
     
+    // Diary list rows with author and comment count in one statement, shared by the list queries below
+    String LIST_ROW_SELECT = "SELECT new com.todayus.dto.DiaryDto$ListRow(" +
+                             "d.id, d.title, d.diaryDate, d.moodEmoji, d.imageUrl, d.aiEmotion, d.aiProcessed, d.createdAt, " +
+                             "u.id, u.nickname, u.email, u.profileImageUrl, " +
+                             "(SELECT COUNT(c) FROM DiaryComment c WHERE c.diary = d)) " +
+                             "FROM Diary d JOIN d.user u " +
+                             "WHERE d.couple.id = :coupleId AND d.status = 'PUBLISHED' ";
+    
     // Find diaries by couple (both users can see each other's diaries)
     @Query("SELECT d FROM Diary d WHERE d.couple = :couple AND d.status = 'PUBLISHED' ORDER BY d.diaryDate DESC, d.createdAt DESC")
     Page<Diary> findByCoupleOrderByDiaryDateDescCreatedAtDesc(@Param("couple") Couple couple, Pageable pageable);
     
+    @Query(value = LIST_ROW_SELECT + "ORDER BY d.diaryDate DESC, d.createdAt DESC",
+           countQuery = "SELECT COUNT(d) FROM Diary d WHERE d.couple.id = :coupleId AND d.status = 'PUBLISHED'")
+    Page<DiaryDto.ListRow> findListRowsByCoupleId(@Param("coupleId") Long coupleId, Pageable pageable);
+    
+    // Keyset slices of the same rows ordered by (diaryDate, createdAt, id) DESC, no count query
+    @Query(LIST_ROW_SELECT + "ORDER BY d.diaryDate DESC, d.createdAt DESC, d.id DESC")
+    Slice<DiaryDto.ListRow> findListRowSliceByCoupleId(@Param("coupleId") Long coupleId, Pageable pageable);
+    
+    @Query(LIST_ROW_SELECT + "AND (d.diaryDate, d.createdAt, d.id) < (:diaryDate, :createdAt, :id) " +
+           "ORDER BY d.diaryDate DESC, d.createdAt DESC, d.id DESC")
+    Slice<DiaryDto.ListRow> findListRowSliceByCoupleIdAfter(@Param("coupleId") Long coupleId,
+                                                            @Param("diaryDate") LocalDate diaryDate,
+                                                            @Param("createdAt") LocalDateTime createdAt,
+                                                            @Param("id") Long id,
+                                                            Pageable pageable);
+    
     // Find diaries by user
     @Query("SELECT d FROM Diary d WHERE d.user = :user AND d.status = 'PUBLISHED' ORDER BY d.diaryDate DESC, d.createdAt DESC")
     Page<Diary> findByUserOrderByDiaryDateDescCreatedAtDesc(@Param("user") User user, Pageable pageable);
@@ -60,6 +88,14 @@ public interface DiaryRepository extends JpaRepository<Diary, Long> {
     // Find diaries that need AI processing
     List<Diary> findByAiProcessedFalseOrderByCreatedAtAsc();
     
+    // Find a couple's diaries for one date with authors (couple daily summary)
+    @Query("SELECT d FROM Diary d JOIN FETCH d.user WHERE d.couple.id = :coupleId AND d.diaryDate = :diaryDate AND d.status = 'PUBLISHED'")
+    List<Diary> findByCoupleIdAndDiaryDateWithUser(@Param("coupleId") Long coupleId, @Param("diaryDate") LocalDate diaryDate);
+    
+    // Find a couple's diaries in a date range with authors (weekly emotion summary)
+    @Query("SELECT d FROM Diary d JOIN FETCH d.user WHERE d.couple.id = :coupleId AND d.status = 'PUBLISHED' AND d.diaryDate BETWEEN :startDate AND :endDate ORDER BY d.diaryDate DESC")
+    List<Diary> findByCoupleIdAndDateRangeWithUser(@Param("coupleId") Long coupleId, @Param("startDate") LocalDate startDate, @Param("endDate") LocalDate endDate);
+    
     // Count diaries by user
     long countByUser(User user);
     
@@ -90,4 +126,19 @@ public interface DiaryRepository extends JpaRepository<Diary, Long> {
     List<Object[]> getEmotionStatsByDateRangeAndCoupleId(@Param("coupleId") Long coupleId, 
                                                         @Param("startDate") LocalDate startDate, 
                                                         @Param("endDate") LocalDate endDate);
-}
\ No newline at end of file
+    
+    // Subscribed diaries whose AI analysis has been stored (possibly by another instance)
+    @Query("SELECT d FROM Diary d WHERE d.id IN :ids AND d.aiProcessed = true")
+    List<Diary> findProcessedByIdIn(@Param("ids") List<Long> ids);
+    
+    // Store AI results only if the analyzed text is unchanged and not yet processed
+    @Modifying
+    @Query("UPDATE Diary d SET d.aiEmotion = :aiEmotion, d.aiComment = :aiComment, d.aiProcessed = true, d.updatedAt = :now " +
+           "WHERE d.id = :id AND d.title = :title AND d.content = :content AND d.aiProcessed = false")
+    int applyAiResult(@Param("id") Long id,
+                      @Param("title") String title,
+                      @Param("content") String content,
+                      @Param("aiEmotion") String aiEmotion,
+                      @Param("aiComment") String aiComment,
+                      @Param("now") LocalDateTime now);
+}
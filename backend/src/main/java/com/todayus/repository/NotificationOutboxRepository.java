@@ -0,0 +1,83 @@
+package com.todayus.repository;
+
+import com.todayus.entity.NotificationOutbox;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.LocalDate;
+import java.util.List;
+
+@Repository
+public interface NotificationOutboxRepository extends JpaRepository<NotificationOutbox, Long> {
+
+    /**
+     * 이벤트 기록 (같은 이벤트/수신자가 이미 있으면 무시)
+     */
+    @Modifying
+    @Query(value = "INSERT INTO notification_outbox (event_type, aggregate_id, recipient_user_id, status, attempts, next_run_at, created_at) " +
+                   "VALUES (:eventType, :aggregateId, :recipientUserId, 'PENDING', 0, now(), now()) " +
+                   "ON CONFLICT (event_type, aggregate_id, recipient_user_id) DO NOTHING",
+           nativeQuery = true)
+    int publish(@Param("eventType") String eventType,
+                @Param("aggregateId") Long aggregateId,
+                @Param("recipientUserId") Long recipientUserId);
+
+    /**
+     * 오늘부터 열 수 있는 타임캡슐을 커플 두 사람 모두에게 기록
+     */
+    @Modifying
+    @Query(value = "INSERT INTO notification_outbox (event_type, aggregate_id, recipient_user_id, status, attempts, next_run_at, created_at) " +
+                   "SELECT 'TIME_CAPSULE_OPENABLE', tc.id, cm.user_id, 'PENDING', 0, now(), now() " +
+                   "FROM time_capsules tc " +
+                   "JOIN couple_members cm ON cm.couple_id = tc.couple_id " +
+                   "WHERE tc.open_date = :today AND tc.is_opened = false " +
+                   "ON CONFLICT (event_type, aggregate_id, recipient_user_id) DO NOTHING",
+           nativeQuery = true)
+    int publishOpenableTimeCapsules(@Param("today") LocalDate today);
+
+    /**
+     * 발송할 이벤트 점유 (짧은 트랜잭션)
+     * next_run_at을 임대 만료 시각으로 미뤄 두므로, 발송 중 종료되면 임대가 끝난 뒤 다른 인스턴스가 다시 점유한다
+     */
+    @Transactional
+    @Query(value = "UPDATE notification_outbox SET next_run_at = now() + (:leaseSeconds * interval '1 second') " +
+                   "WHERE id IN (SELECT id FROM notification_outbox WHERE status = 'PENDING' AND next_run_at <= now() " +
+                   "ORDER BY next_run_at LIMIT :limit FOR UPDATE SKIP LOCKED) " +
+                   "RETURNING *",
+           nativeQuery = true)
+    List<NotificationOutbox> claimPending(@Param("limit") int limit, @Param("leaseSeconds") long leaseSeconds);
+
+    @Modifying
+    @Transactional
+    @Query(value = "UPDATE notification_outbox SET status = 'SENT', attempts = attempts + 1, last_error = NULL, " +
+                   "processed_at = now() WHERE id IN (:ids) AND status = 'PENDING'",
+           nativeQuery = true)
+    int markSent(@Param("ids") List<Long> ids);
+
+    @Modifying
+    @Transactional
+    @Query(value = "UPDATE notification_outbox SET attempts = attempts + 1, " +
+                   "next_run_at = now() + (:delaySeconds * interval '1 second'), last_error = :error WHERE id IN (:ids)",
+           nativeQuery = true)
+    int reschedule(@Param("ids") List<Long> ids, @Param("delaySeconds") long delaySeconds, @Param("error") String error);
+
+    @Modifying
+    @Transactional
+    @Query(value = "UPDATE notification_outbox SET status = 'FAILED', attempts = attempts + 1, last_error = :error, " +
+                   "processed_at = now() WHERE id IN (:ids)",
+           nativeQuery = true)
+    int markFailed(@Param("ids") List<Long> ids, @Param("error") String error);
+
+    /**
+     * 처리가 끝난 지 오래된 이벤트 삭제
+     */
+    @Modifying
+    @Query(value = "DELETE FROM notification_outbox WHERE status <> 'PENDING' " +
+                   "AND processed_at < now() - (:retentionDays * interval '1 day')",
+           nativeQuery = true)
+    int deleteProcessedBefore(@Param("retentionDays") long retentionDays);
+}
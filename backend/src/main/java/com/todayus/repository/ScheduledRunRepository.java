@@ -0,0 +1,32 @@
+package com.todayus.repository;
+
+import com.todayus.entity.ScheduledRun;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.time.LocalDateTime;
+import java.util.Optional;
+
+@Repository
+public interface ScheduledRunRepository extends JpaRepository<ScheduledRun, Long> {
+
+    /**
+     * 회차 점유 (다른 인스턴스가 이미 기록했으면 0)
+     */
+    @Modifying
+    @Query(value = "INSERT INTO scheduled_runs (job_name, run_key, started_at) " +
+                   "VALUES (:jobName, :runKey, now()) " +
+                   "ON CONFLICT (job_name, run_key) DO NOTHING",
+           nativeQuery = true)
+    int claim(@Param("jobName") String jobName, @Param("runKey") String runKey);
+
+    @Query("SELECT MAX(r.startedAt) FROM ScheduledRun r WHERE r.jobName = :jobName")
+    Optional<LocalDateTime> findLastStartedAt(@Param("jobName") String jobName);
+
+    @Modifying
+    @Query(value = "DELETE FROM scheduled_runs WHERE started_at < :cutoff", nativeQuery = true)
+    int deleteStartedBefore(@Param("cutoff") LocalDateTime cutoff);
+}
@@ -5,12 +5,14 @@ import com.todayus.entity.TimeCapsule;
 import com.todayus.entity.User;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
 import java.time.LocalDate;
+import java.time.LocalDateTime;
 import java.util.List;
 
 @Repository
@@ -19,6 +21,17 @@ public interface TimeCapsuleRepository extends JpaRepository<TimeCapsule, Long>
     // Find time capsules by couple
     Page<TimeCapsule> findByCoupleOrderByCreatedAtDesc(Couple couple, Pageable pageable);
     
+    // Keyset slices by (createdAt, id) DESC with authors, no count query
+    @Query("SELECT tc FROM TimeCapsule tc JOIN FETCH tc.author WHERE tc.couple = :couple ORDER BY tc.createdAt DESC, tc.id DESC")
+    Slice<TimeCapsule> findSliceByCouple(@Param("couple") Couple couple, Pageable pageable);
+    
+    @Query("SELECT tc FROM TimeCapsule tc JOIN FETCH tc.author WHERE tc.couple = :couple " +
+           "AND (tc.createdAt, tc.id) < (:createdAt, :id) ORDER BY tc.createdAt DESC, tc.id DESC")
+    Slice<TimeCapsule> findSliceByCoupleAfter(@Param("couple") Couple couple,
+                                             @Param("createdAt") LocalDateTime createdAt,
+                                             @Param("id") Long id,
+                                             Pageable pageable);
+    
     // Find time capsules by author
     Page<TimeCapsule> findByAuthorOrderByCreatedAtDesc(User author, Pageable pageable);
     
@@ -34,6 +47,15 @@ public interface TimeCapsuleRepository extends JpaRepository<TimeCapsule, Long>
     @Query("SELECT tc FROM TimeCapsule tc WHERE tc.couple = :couple AND tc.isOpened = false ORDER BY tc.openDate ASC")
     List<TimeCapsule> findUnopenedTimeCapsules(@Param("couple") Couple couple, Pageable pageable);
     
+    // Summary counts in one row: [total, opened, unopened, openable]
+    @Query(value = "SELECT COUNT(*), " +
+                   "COUNT(*) FILTER (WHERE is_opened), " +
+                   "COUNT(*) FILTER (WHERE NOT is_opened), " +
+                   "COUNT(*) FILTER (WHERE NOT is_opened AND open_date <= :today) " +
+                   "FROM time_capsules WHERE couple_id = :coupleId",
+           nativeQuery = true)
+    List<Object[]> summarizeByCoupleId(@Param("coupleId") Long coupleId, @Param("today") LocalDate today);
+    
     // Count unopened time capsules by couple
     long countByCoupleAndIsOpenedFalse(Couple couple);
     
@@ -1,12 +1,20 @@
 package com.todayus.repository;
 
 import com.todayus.entity.UserDevice;
+import jakarta.persistence.QueryHint;
+import org.hibernate.jpa.HibernateHints;
+import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
 import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
 import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
+import org.springframework.transaction.annotation.Transactional;
 
+import java.time.LocalDate;
 import java.time.LocalDateTime;
+import java.util.Collection;
 import java.util.List;
 import java.util.Optional;
 
@@ -18,6 +26,12 @@ public interface UserDeviceRepository extends JpaRepository<UserDevice, Long> {
      */
     List<UserDevice> findByUserIdAndIsActiveTrue(Long userId);
     
+    /**
+     * 여러 사용자의 활성 기기 토큰 [userId, fcmToken]
+     */
+    @Query("SELECT ud.userId, ud.fcmToken FROM UserDevice ud WHERE ud.userId IN :userIds AND ud.isActive = true")
+    List<Object[]> findActiveTokensByUserIds(@Param("userIds") Collection<Long> userIds);
+    
     /**
      * FCM 토큰으로 기기 조회
      */
@@ -29,16 +43,36 @@ public interface UserDeviceRepository extends JpaRepository<UserDevice, Long> {
     Optional<UserDevice> findByUserIdAndDeviceType(Long userId, String deviceType);
     
     /**
-     * 모든 활성 기기 조회 (전체 발송용)
+     * 활성 기기 토큰을 id 순으로 lastId 다음부터 조회 (전체 발송용 keyset 페이지)
+     * 엔티티 대신 [id, fcmToken]만 읽어 영속성 컨텍스트에 쌓이지 않게 한다
+     */
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_FETCH_SIZE, value = "500"))
+    @Query("SELECT ud.id, ud.fcmToken FROM UserDevice ud " +
+           "WHERE ud.isActive = true AND ud.id > :lastId " +
+           "ORDER BY ud.id")
+    List<Object[]> findActiveTokensAfter(@Param("lastId") Long lastId, Pageable pageable);
+    
+    /**
+     * cutoff 이후 사용되지 않은 활성 기기를 최대 limit개 비활성화 (정리용, 한 번에 잠그는 행 수 제한)
      */
-    @Query("SELECT ud FROM UserDevice ud WHERE ud.isActive = true")
-    List<UserDevice> findAllActiveDevices();
+    @Transactional
+    @Modifying
+    @Query(value = "UPDATE user_devices SET is_active = false WHERE id IN (" +
+                   "SELECT id FROM user_devices WHERE is_active = true AND last_used_at < :cutoff " +
+                   "LIMIT :limit FOR UPDATE SKIP LOCKED)",
+           nativeQuery = true)
+    int deactivateUnusedBefore(@Param("cutoff") LocalDateTime cutoff, @Param("limit") int limit);
     
     /**
-     * 특정 시간 이후 사용되지 않은 기기들 조회 (정리용)
+     * cutoff 이후 사용되지 않은 비활성 기기를 최대 limit개 삭제
      */
-    @Query("SELECT ud FROM UserDevice ud WHERE ud.lastUsedAt < :cutoffDate")
-    List<UserDevice> findInactiveDevices(@Param("cutoffDate") LocalDateTime cutoffDate);
+    @Transactional
+    @Modifying
+    @Query(value = "DELETE FROM user_devices WHERE id IN (" +
+                   "SELECT id FROM user_devices WHERE is_active = false AND last_used_at < :cutoff " +
+                   "LIMIT :limit FOR UPDATE SKIP LOCKED)",
+           nativeQuery = true)
+    int deleteInactiveBefore(@Param("cutoff") LocalDateTime cutoff, @Param("limit") int limit);
     
     /**
      * 커플 상대방의 활성 기기들 조회
@@ -54,4 +88,68 @@ public interface UserDeviceRepository extends JpaRepository<UserDevice, Long> {
            "  AND c.status = 'CONNECTED'" +
            ") AND ud.isActive = true")
     List<UserDevice> findPartnerDevices(@Param("userId") Long userId);
-}
\ No newline at end of file
+    
+    /**
+     * FCM이 거부한 토큰들을 한 번에 비활성화
+     */
+    @Transactional
+    @Modifying
+    @Query("UPDATE UserDevice ud SET ud.isActive = false WHERE ud.fcmToken IN :fcmTokens AND ud.isActive = true")
+    int deactivateByFcmTokens(@Param("fcmTokens") Collection<String> fcmTokens);
+    
+    /**
+     * 오늘 일기를 쓰지 않은 커플 사용자의 활성 기기 [id, fcmToken] (id 순 keyset 페이지)
+     */
+    @Query(value = "SELECT ud.id, ud.fcm_token FROM user_devices ud " +
+                   "JOIN couple_members cm ON cm.user_id = ud.user_id " +
+                   "JOIN couples c ON c.id = cm.couple_id AND c.status = 'CONNECTED' " +
+                   "WHERE ud.is_active = true AND ud.id > :lastId " +
+                   "AND NOT EXISTS (SELECT 1 FROM diaries d WHERE d.user_id = ud.user_id AND d.diary_date = :today) " +
+                   "ORDER BY ud.id LIMIT :limit",
+           nativeQuery = true)
+    List<Object[]> findDiaryReminderTokensAfter(@Param("today") LocalDate today,
+                                                @Param("lastId") Long lastId,
+                                                @Param("limit") int limit);
+    
+    /**
+     * 오늘 기념일(100일 단위 또는 N주년)을 맞은 커플 사용자의 활성 기기 (id 순 keyset 페이지)
+     * [id, fcmToken, 사귄 일수(D+N), anniversaryDate]
+     */
+    @Query(value = "SELECT ud.id, ud.fcm_token, (CAST(:today AS date) - c.anniversary_date + 1) AS days, c.anniversary_date " +
+                   "FROM couples c " +
+                   "JOIN couple_members cm ON cm.couple_id = c.id " +
+                   "JOIN user_devices ud ON ud.user_id = cm.user_id AND ud.is_active = true " +
+                   "WHERE c.status = 'CONNECTED' AND c.anniversary_date < :today AND ud.id > :lastId " +
+                   "AND (MOD(CAST(:today AS date) - c.anniversary_date + 1, 100) = 0 " +
+                   "     OR (EXTRACT(MONTH FROM c.anniversary_date) = EXTRACT(MONTH FROM CAST(:today AS date)) " +
+                   "         AND EXTRACT(DAY FROM c.anniversary_date) = EXTRACT(DAY FROM CAST(:today AS date)))) " +
+                   "ORDER BY ud.id LIMIT :limit",
+           nativeQuery = true)
+    List<Object[]> findAnniversaryTokensAfter(@Param("today") LocalDate today,
+                                              @Param("lastId") Long lastId,
+                                              @Param("limit") int limit);
+    
+    /**
+     * 기기 등록. 같은 토큰이 있으면 사용자/기기 타입/활성 상태가 바뀐 경우에만 갱신 (변경이 없으면 0 반환)
+     */
+    @Transactional
+    @Modifying
+    @Query(value = "INSERT INTO user_devices (user_id, fcm_token, device_type, registered_at, last_used_at, is_active) " +
+                   "VALUES (:userId, :fcmToken, :deviceType, now(), now(), true) " +
+                   "ON CONFLICT (fcm_token) DO UPDATE SET " +
+                   "user_id = EXCLUDED.user_id, device_type = EXCLUDED.device_type, is_active = true, last_used_at = now() " +
+                   "WHERE user_devices.user_id <> EXCLUDED.user_id " +
+                   "OR user_devices.device_type <> EXCLUDED.device_type " +
+                   "OR user_devices.is_active = false",
+           nativeQuery = true)
+    int upsert(@Param("userId") Long userId, @Param("fcmToken") String fcmToken, @Param("deviceType") String deviceType);
+    
+    /**
+     * 모아 둔 사용 기록 반영 (이미 더 최근 값이면 건너뜀)
+     */
+    @Transactional
+    @Modifying
+    @Query("UPDATE UserDevice ud SET ud.lastUsedAt = :seenAt " +
+           "WHERE ud.fcmToken IN :fcmTokens AND (ud.lastUsedAt IS NULL OR ud.lastUsedAt < :seenAt)")
+    int touchLastUsedAt(@Param("fcmTokens") Collection<String> fcmTokens, @Param("seenAt") LocalDateTime seenAt);
+}
@@ -0,0 +1,64 @@
+package com.todayus.repository;
+
+import com.todayus.entity.WeeklyEmotionSummary;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.List;
+
+@Repository
+public interface WeeklyEmotionSummaryRepository extends JpaRepository<WeeklyEmotionSummary, Long> {
+
+    /**
+     * 요약을 다시 확인해야 하는 연결된 커플 ID
+     * 요약이 없거나, 요약 기간이 지났거나, since 이후 일기가 작성/수정된 커플
+     */
+    @Query(value = "SELECT c.id FROM couples c " +
+                   "LEFT JOIN weekly_emotion_summaries s ON s.couple_id = c.id " +
+                   "WHERE c.status = 'CONNECTED' AND (s.couple_id IS NULL OR s.window_end < :windowEnd " +
+                   "OR EXISTS (SELECT 1 FROM diaries d WHERE d.couple_id = c.id AND d.updated_at > :since)) " +
+                   "ORDER BY c.id",
+           nativeQuery = true)
+    List<Long> findCandidateCoupleIds(@Param("windowEnd") LocalDate windowEnd,
+                                      @Param("since") LocalDateTime since);
+
+    /**
+     * 커플의 기간 내 일기 집합 지문 (일기 수 + 일기 ID/수정 시각 목록의 MD5)
+     */
+    @Query(value = "SELECT COUNT(d.id) || ':' || md5(COALESCE(string_agg(d.id || '@' || d.updated_at, ',' ORDER BY d.id), '')) " +
+                   "FROM diaries d WHERE d.couple_id = :coupleId AND d.status = 'PUBLISHED' " +
+                   "AND d.diary_date BETWEEN :startDate AND :endDate",
+           nativeQuery = true)
+    String computeFingerprint(@Param("coupleId") Long coupleId,
+                              @Param("startDate") LocalDate startDate,
+                              @Param("endDate") LocalDate endDate);
+
+    /**
+     * 일기 집합이 그대로인 경우 요약 기간만 갱신
+     */
+    @Modifying
+    @Transactional
+    @Query(value = "UPDATE weekly_emotion_summaries SET window_start = :windowStart, window_end = :windowEnd " +
+                   "WHERE couple_id = :coupleId",
+           nativeQuery = true)
+    int updateWindow(@Param("coupleId") Long coupleId, @Param("windowStart") LocalDate windowStart,
+                     @Param("windowEnd") LocalDate windowEnd);
+
+    @Modifying
+    @Transactional
+    @Query(value = "INSERT INTO weekly_emotion_summaries (couple_id, window_start, window_end, fingerprint, summary, generated_at) " +
+                   "VALUES (:coupleId, :windowStart, :windowEnd, :fingerprint, :summary, now()) " +
+                   "ON CONFLICT (couple_id) DO UPDATE SET window_start = EXCLUDED.window_start, " +
+                   "window_end = EXCLUDED.window_end, fingerprint = EXCLUDED.fingerprint, " +
+                   "summary = EXCLUDED.summary, generated_at = now()",
+           nativeQuery = true)
+    int upsert(@Param("coupleId") Long coupleId, @Param("windowStart") LocalDate windowStart,
+               @Param("windowEnd") LocalDate windowEnd, @Param("fingerprint") String fingerprint,
+               @Param("summary") String summary);
+}
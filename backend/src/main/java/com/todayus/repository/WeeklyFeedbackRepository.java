@@ -5,12 +5,14 @@ import com.todayus.entity.User;
 import com.todayus.entity.WeeklyFeedback;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
 import java.time.LocalDate;
+import java.time.LocalDateTime;
 import java.util.List;
 import java.util.Optional;
 
@@ -32,6 +34,21 @@ public interface WeeklyFeedbackRepository extends JpaRepository<WeeklyFeedback,
      */
     Page<WeeklyFeedback> findByCoupleOrderByCreatedAtDesc(Couple couple, Pageable pageable);
     
+    /**
+     * 커플 피드백 히스토리 커서 조회 ((createdAt, id) 내림차순, 개수 조회 없음)
+     */
+    @Query("SELECT wf FROM WeeklyFeedback wf JOIN FETCH wf.sender JOIN FETCH wf.receiver " +
+           "WHERE wf.couple = :couple ORDER BY wf.createdAt DESC, wf.id DESC")
+    Slice<WeeklyFeedback> findSliceByCouple(@Param("couple") Couple couple, Pageable pageable);
+    
+    @Query("SELECT wf FROM WeeklyFeedback wf JOIN FETCH wf.sender JOIN FETCH wf.receiver " +
+           "WHERE wf.couple = :couple AND (wf.createdAt, wf.id) < (:createdAt, :id) " +
+           "ORDER BY wf.createdAt DESC, wf.id DESC")
+    Slice<WeeklyFeedback> findSliceByCoupleAfter(@Param("couple") Couple couple,
+                                                @Param("createdAt") LocalDateTime createdAt,
+                                                @Param("id") Long id,
+                                                Pageable pageable);
+    
     /**
      * ID-based methods for backward compatibility
      */
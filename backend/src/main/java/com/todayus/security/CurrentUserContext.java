@@ -0,0 +1,52 @@
+package com.todayus.security;
+
+import org.springframework.stereotype.Component;
+import org.springframework.web.context.annotation.RequestScope;
+
+import java.util.Optional;
+import java.util.function.Function;
+
+/**
+ * 요청 단위 현재 사용자 정보
+ * JwtAuthenticationFilter가 토큰의 사용자 id로 한 번 채우고, 연결된 커플 id는 처음 필요할 때 한 번만 조회합니다.
+ * 홈 화면 집계처럼 한 요청을 여러 스레드가 나눠 처리할 수 있으므로 커플 조회는 동기화합니다.
+ */
+@Component
+@RequestScope
+public class CurrentUserContext {
+
+    private Long userId;
+    private String email;
+    private Long coupleId;
+    private boolean coupleResolved;
+
+    public void set(Long userId, String email) {
+        this.userId = userId;
+        this.email = email;
+        this.coupleId = null;
+        this.coupleResolved = false;
+    }
+
+    public boolean isAuthenticated() {
+        return userId != null;
+    }
+
+    public Long getUserId() {
+        return userId;
+    }
+
+    public String getEmail() {
+        return email;
+    }
+
+    /**
+     * 연결(CONNECTED)된 커플 id. 요청 중 첫 호출에서만 loader를 실행한다
+     */
+    public synchronized Optional<Long> getCoupleId(Function<Long, Optional<Long>> loader) {
+        if (!coupleResolved) {
+            coupleId = loader.apply(userId).orElse(null);
+            coupleResolved = true;
+        }
+        return Optional.ofNullable(coupleId);
+    }
+}
@@ -2,20 +2,63 @@ package com.todayus.security;
 
 import com.todayus.entity.User;
 import lombok.Getter;
-import lombok.RequiredArgsConstructor;
 import org.springframework.security.core.GrantedAuthority;
+import org.springframework.security.core.authority.SimpleGrantedAuthority;
 import org.springframework.security.oauth2.core.user.OAuth2User;
 
 import java.util.Collection;
+import java.util.Collections;
+import java.util.HashMap;
 import java.util.Map;
 
-@RequiredArgsConstructor
+/**
+ * 인증 사용자
+ * OAuth2 로그인에서는 User 엔티티를 담고, JWT 인증에서는 토큰 클레임만으로 만들어집니다 (user == null).
+ */
 @Getter
 public class CustomOAuth2User implements OAuth2User {
     
     private final Collection<? extends GrantedAuthority> authorities;
     private final Map<String, Object> attributes;
     private final User user;
+    private final Long userId;
+    private final String email;
+    
+    public CustomOAuth2User(Collection<? extends GrantedAuthority> authorities, Map<String, Object> attributes, User user) {
+        this.authorities = authorities;
+        this.attributes = attributes;
+        this.user = user;
+        this.userId = user.getId();
+        this.email = user.getEmail();
+    }
+    
+    private CustomOAuth2User(Collection<? extends GrantedAuthority> authorities, Map<String, Object> attributes,
+                             Long userId, String email) {
+        this.authorities = authorities;
+        this.attributes = attributes;
+        this.user = null;
+        this.userId = userId;
+        this.email = email;
+    }
+    
+    /**
+     * JWT 클레임 기반 사용자 (DB 조회 없음)
+     */
+    public static CustomOAuth2User fromClaims(Long userId, String email, String name, String nickname, String role) {
+        Map<String, Object> attributes = new HashMap<>();
+        attributes.put("sub", userId.toString());
+        attributes.put("email", email);
+        attributes.put("name", name);
+        attributes.put("nickname", nickname);
+        
+        String authority = "ROLE_" + (role != null ? role : User.Role.USER.name());
+        return new CustomOAuth2User(
+                Collections.singletonList(new SimpleGrantedAuthority(authority)),
+                attributes,
+                userId,
+                email
+        );
+    }
     
     @Override
     public Map<String, Object> getAttributes() {
@@ -29,14 +72,14 @@ public class CustomOAuth2User implements OAuth2User {
     
     @Override
     public String getName() {
-        return user.getName();
-    }
-    
-    public String getEmail() {
-        return user.getEmail();
+        if (user != null) {
+            return user.getName();
+        }
+        Object name = attributes.get("name");
+        return name != null ? name.toString() : userId.toString();
     }
     
-    public Long getUserId() {
-        return user.getId();
+    public String getNickname() {
+        return user != null ? user.getNickname() : (String) attributes.get("nickname");
     }
-}
\ No newline at end of file
+}
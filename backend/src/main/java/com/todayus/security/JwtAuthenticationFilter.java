@@ -1,7 +1,6 @@
 package com.todayus.security;
 
-import com.todayus.entity.User;
-import com.todayus.repository.UserRepository;
+import io.jsonwebtoken.Claims;
 import jakarta.servlet.FilterChain;
 import jakarta.servlet.ServletException;
 import jakarta.servlet.http.HttpServletRequest;
@@ -9,7 +8,6 @@ import jakarta.servlet.http.HttpServletResponse;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
-import org.springframework.security.core.authority.SimpleGrantedAuthority;
 import org.springframework.security.core.context.SecurityContextHolder;
 import org.springframework.security.web.authentication.WebAuthenticationDetailsSource;
 import org.springframework.stereotype.Component;
@@ -17,11 +15,6 @@ import org.springframework.util.StringUtils;
 import org.springframework.web.filter.OncePerRequestFilter;
 
 import java.io.IOException;
-import java.util.ArrayList;
-import java.util.Collections;
-import java.util.HashMap;
-import java.util.Map;
-import java.util.Optional;
 
 @Slf4j
 @Component
@@ -29,7 +22,8 @@ import java.util.Optional;
 public class JwtAuthenticationFilter extends OncePerRequestFilter {
     
     private final JwtTokenProvider jwtTokenProvider;
-    private final UserRepository userRepository;
+    private final TokenVersionCache tokenVersionCache;
+    private final CurrentUserContext currentUserContext;
     
     @Override
     protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response, FilterChain filterChain)
@@ -44,29 +38,21 @@ public class JwtAuthenticationFilter extends OncePerRequestFilter {
         log.info("🔵 Authorization 헤더: {}", request.getHeader("Authorization"));
         
         if (StringUtils.hasText(token)) {
-            boolean isValid = jwtTokenProvider.validateToken(token);
-            log.info("🔵 토큰 유효성 검사 결과: {}", isValid);
+            Claims claims = jwtTokenProvider.parseClaims(token);
+            log.info("🔵 토큰 유효성 검사 결과: {}", claims != null);
             
-            if (isValid) {
-                String userId = jwtTokenProvider.getUserId(token);
-                String email = jwtTokenProvider.getEmail(token);
+            if (claims != null) {
+                Long userId = Long.valueOf(claims.getSubject());
+                String email = claims.get("email", String.class);
                 
-                // 데이터베이스에서 사용자 정보 조회
-                Optional<User> userOptional = userRepository.findById(Long.valueOf(userId));
-                
-                if (userOptional.isPresent()) {
-                    User user = userOptional.get();
-                    
-                    // CustomOAuth2User 객체 생성
-                    Map<String, Object> attributes = new HashMap<>();
-                    attributes.put("sub", userId);
-                    attributes.put("email", email);
-                    attributes.put("name", user.getName());
-                    
-                    CustomOAuth2User customUser = new CustomOAuth2User(
-                        Collections.singletonList(new SimpleGrantedAuthority("ROLE_USER")),
-                        attributes,
-                        user
+                // 사용자 테이블 대신 토큰 버전 캐시로 무효화/탈퇴 여부 확인
+                if (tokenVersionCache.isCurrent(userId, jwtTokenProvider.getTokenVersion(claims))) {
+                    CustomOAuth2User customUser = CustomOAuth2User.fromClaims(
+                        userId,
+                        email,
+                        claims.get("name", String.class),
+                        claims.get("nickname", String.class),
+                        claims.get("role", String.class)
                     );
                     
                     // 인증 객체 생성
@@ -76,10 +62,11 @@ public class JwtAuthenticationFilter extends OncePerRequestFilter {
                     
                     // SecurityContext에 인증 정보 설정
                     SecurityContextHolder.getContext().setAuthentication(authentication);
+                    currentUserContext.set(userId, email);
                     
                     log.info("🟢 JWT 인증 성공: userId={}, email={}", userId, email);
                 } else {
-                    log.warn("🔴 JWT 토큰의 userId={}에 해당하는 사용자를 찾을 수 없음", userId);
+                    log.warn("🔴 무효화된 토큰이거나 userId={}에 해당하는 사용자를 찾을 수 없음", userId);
                 }
             } else {
                 log.warn("🔴 JWT 토큰 검증 실패");
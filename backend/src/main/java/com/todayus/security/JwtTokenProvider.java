@@ -1,5 +1,9 @@
 package com.todayus.security;
 
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.github.benmanes.caffeine.cache.Expiry;
+import com.todayus.entity.User;
 import io.jsonwebtoken.*;
 import io.jsonwebtoken.security.Keys;
 import lombok.extern.slf4j.Slf4j;
@@ -7,91 +11,166 @@ import org.springframework.beans.factory.annotation.Value;
 import org.springframework.stereotype.Component;
 
 import javax.crypto.SecretKey;
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
 import java.util.Date;
+import java.util.HexFormat;
+import java.util.concurrent.TimeUnit;
 
+/**
+ * JWT 발급/검증
+ * 서명 검증을 통과한 토큰의 클레임은 만료 시각까지 토큰 해시를 키로 캐시하므로,
+ * 같은 토큰으로 들어오는 요청은 서명을 다시 검증하지 않습니다.
+ */
 @Slf4j
 @Component
 public class JwtTokenProvider {
-    
+
     private final SecretKey secretKey;
     private final long tokenValidityInMilliseconds;
-    
+    private final JwtParser parser;
+    private final Cache<String, Claims> verifiedClaims;
+
     public JwtTokenProvider(@Value("${jwt.secret:mySecretKey}") String secret,
-                           @Value("${jwt.token-validity-in-seconds:86400}") long tokenValidityInSeconds) {
+                           @Value("${jwt.token-validity-in-seconds:86400}") long tokenValidityInSeconds,
+                           @Value("${jwt.claims-cache.max-size:10000}") long claimsCacheMaxSize) {
         this.secretKey = Keys.hmacShaKeyFor(secret.getBytes());
         this.tokenValidityInMilliseconds = tokenValidityInSeconds * 1000;
+        this.parser = Jwts.parser()
+                .verifyWith(secretKey)
+                .build();
+        this.verifiedClaims = Caffeine.newBuilder()
+                .maximumSize(claimsCacheMaxSize)
+                .expireAfter(new UntilTokenExpiry())
+                .build();
     }
-    
-    public String createToken(String userId, String email) {
+
+    public String createToken(User user) {
         Date now = new Date();
         Date validity = new Date(now.getTime() + tokenValidityInMilliseconds);
-        
+
         return Jwts.builder()
-                .subject(userId)
-                .claim("email", email)
+                .subject(user.getId().toString())
+                .claim("email", user.getEmail())
+                .claim("name", user.getName())
+                .claim("nickname", user.getNickname())
+                .claim("role", user.getRole() != null ? user.getRole().name() : User.Role.USER.name())
+                .claim("tv", user.getTokenVersion() != null ? user.getTokenVersion() : 0)
                 .issuedAt(now)
                 .expiration(validity)
                 .signWith(secretKey)
                 .compact();
     }
-    
+
+    /**
+     * 서명/만료를 검증하고 클레임 반환. 유효하지 않으면 null
+     * 한 번 검증된 토큰은 만료 전까지 캐시에서 바로 반환한다
+     */
+    public Claims parseClaims(String token) {
+        if (token == null || token.isBlank()) {
+            return null;
+        }
+
+        String key = hash(token);
+        Claims claims = verifiedClaims.getIfPresent(key);
+        if (claims != null) {
+            // 캐시 만료 직전 경계에서 만료된 토큰이 통과하지 않도록 한 번 더 확인
+            if (claims.getExpiration() == null || claims.getExpiration().after(new Date())) {
+                return claims;
+            }
+            verifiedClaims.invalidate(key);
+            return null;
+        }
+
+        claims = verify(token);
+        if (claims != null) {
+            verifiedClaims.put(key, claims);
+        }
+        return claims;
+    }
+
+    /**
+     * 토큰 버전 클레임. 버전 도입 이전에 발급된 토큰은 0
+     */
+    public int getTokenVersion(Claims claims) {
+        Integer tokenVersion = claims.get("tv", Integer.class);
+        return tokenVersion != null ? tokenVersion : 0;
+    }
+
     public String getUserId(String token) {
-        return Jwts.parser()
-                .verifyWith(secretKey)
-                .build()
-                .parseSignedClaims(token)
-                .getPayload()
-                .getSubject();
+        return requireClaims(token).getSubject();
     }
-    
+
     public String getEmail(String token) {
-        return Jwts.parser()
-                .verifyWith(secretKey)
-                .build()
-                .parseSignedClaims(token)
-                .getPayload()
-                .get("email", String.class);
+        return requireClaims(token).get("email", String.class);
     }
 
     public String getUsername(String token) {
-        return Jwts.parser()
-                .verifyWith(secretKey)
-                .build()
-                .parseSignedClaims(token)
-                .getPayload()
-                .get("name", String.class);
+        return requireClaims(token).get("name", String.class);
     }
-    
+
     public boolean validateToken(String token) {
+        return parseClaims(token) != null;
+    }
+
+    private Claims requireClaims(String token) {
+        Claims claims = parseClaims(token);
+        if (claims == null) {
+            throw new JwtException("Invalid JWT token");
+        }
+        return claims;
+    }
+
+    private Claims verify(String token) {
         try {
-            log.info("🔵 JWT 토큰 검증 시작");
-            Claims claims = Jwts.parser()
-                .verifyWith(secretKey)
-                .build()
-                .parseSignedClaims(token)
-                .getPayload();
-            
-            log.info("🟢 JWT 토큰 검증 성공 - Subject: {}, Expiration: {}", 
-                     claims.getSubject(), claims.getExpiration());
-            return true;
+            return parser.parseSignedClaims(token).getPayload();
         } catch (ExpiredJwtException e) {
-            log.error("🔴 JWT 토큰 만료: {}", e.getMessage());
-            return false;
+            log.debug("🔴 JWT 토큰 만료: {}", e.getMessage());
         } catch (UnsupportedJwtException e) {
-            log.error("🔴 지원되지 않는 JWT 토큰: {}", e.getMessage());
-            return false;
+            log.warn("🔴 지원되지 않는 JWT 토큰: {}", e.getMessage());
         } catch (MalformedJwtException e) {
-            log.error("🔴 잘못된 형식의 JWT 토큰: {}", e.getMessage());
-            return false;
-        } catch (SecurityException e) {
-            log.error("🔴 JWT 토큰 서명 검증 실패: {}", e.getMessage());
-            return false;
+            log.warn("🔴 잘못된 형식의 JWT 토큰: {}", e.getMessage());
         } catch (IllegalArgumentException e) {
-            log.error("🔴 JWT 토큰이 비어있음: {}", e.getMessage());
-            return false;
+            log.warn("🔴 JWT 토큰이 비어있음: {}", e.getMessage());
         } catch (JwtException e) {
-            log.error("🔴 JWT 토큰 검증 실패: {}", e.getMessage());
-            return false;
+            log.warn("🔴 JWT 토큰 검증 실패: {}", e.getMessage());
+        }
+        return null;
+    }
+
+    private static String hash(String token) {
+        try {
+            MessageDigest digest = MessageDigest.getInstance("SHA-256");
+            return HexFormat.of().formatHex(digest.digest(token.getBytes(StandardCharsets.UTF_8)));
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException("SHA-256 not available", e);
+        }
+    }
+
+    /**
+     * 캐시 항목을 토큰 만료 시각까지만 유지
+     */
+    private static class UntilTokenExpiry implements Expiry<String, Claims> {
+
+        @Override
+        public long expireAfterCreate(String key, Claims claims, long currentTime) {
+            Date expiration = claims.getExpiration();
+            if (expiration == null) {
+                return TimeUnit.HOURS.toNanos(1);
+            }
+            long remainingMillis = expiration.getTime() - System.currentTimeMillis();
+            return TimeUnit.MILLISECONDS.toNanos(Math.max(remainingMillis, 0));
+        }
+
+        @Override
+        public long expireAfterUpdate(String key, Claims claims, long currentTime, long currentDuration) {
+            return currentDuration;
+        }
+
+        @Override
+        public long expireAfterRead(String key, Claims claims, long currentTime, long currentDuration) {
+            return currentDuration;
         }
     }
-}
\ No newline at end of file
+}
@@ -35,10 +35,7 @@ public class OAuth2AuthenticationSuccessHandler extends SimpleUrlAuthenticationS
             CustomOAuth2User oauth2User = (CustomOAuth2User) authentication.getPrincipal();
             User user = oauth2User.getUser();
             
-            String token = jwtTokenProvider.createToken(
-                    user.getId().toString(),
-                    user.getEmail()
-            );
+            String token = jwtTokenProvider.createToken(user);
             
             log.info("OAuth2 로그인 성공: 사용자 {}, 닉네임 설정 여부: {}", 
                     user.getEmail(), user.getNicknameSet());
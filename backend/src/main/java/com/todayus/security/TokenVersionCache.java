@@ -0,0 +1,51 @@
+package com.todayus.security;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.todayus.repository.UserRepository;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+
+/**
+ * 사용자별 토큰 버전 캐시
+ * JWT 인증 시 사용자 테이블 대신 이 캐시로 토큰 무효화 여부를 확인합니다.
+ * 다른 인스턴스에서 무효화한 토큰은 최대 ttl-seconds 동안 통과할 수 있습니다.
+ */
+@Component
+public class TokenVersionCache {
+
+    // 삭제된 사용자 표시 (반복 조회 방지)
+    private static final int MISSING = -1;
+
+    private final UserRepository userRepository;
+    private final Cache<Long, Integer> cache;
+
+    public TokenVersionCache(UserRepository userRepository,
+                             MeterRegistry meterRegistry,
+                             @Value("${jwt.token-version-cache.max-size:10000}") long maxSize,
+                             @Value("${jwt.token-version-cache.ttl-seconds:60}") long ttlSeconds) {
+        this.userRepository = userRepository;
+        this.cache = Caffeine.newBuilder()
+                .maximumSize(maxSize)
+                .expireAfterWrite(Duration.ofSeconds(ttlSeconds))
+                .build();
+        Gauge.builder("auth.token.version.cache.size", cache, Cache::estimatedSize)
+                .register(meterRegistry);
+    }
+
+    /**
+     * 사용자가 존재하고 토큰 버전이 현재 버전과 같으면 true
+     */
+    public boolean isCurrent(Long userId, int tokenVersion) {
+        int current = cache.get(userId, id -> userRepository.findTokenVersionById(id).orElse(MISSING));
+        return current != MISSING && current == tokenVersion;
+    }
+
+    public void invalidate(Long userId) {
+        cache.invalidate(userId);
+    }
+}
@@ -2,16 +2,15 @@ package com.todayus.service;
 
 import com.fasterxml.jackson.databind.JsonNode;
 import com.fasterxml.jackson.databind.ObjectMapper;
-import com.theokanning.openai.completion.chat.ChatCompletionChoice;
-import com.theokanning.openai.completion.chat.ChatCompletionRequest;
-import com.theokanning.openai.completion.chat.ChatMessage;
-import com.theokanning.openai.completion.chat.ChatMessageRole;
-import com.theokanning.openai.service.OpenAiService;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.stereotype.Service;
+import reactor.core.publisher.Mono;
 
 import java.util.List;
+import java.util.function.Consumer;
+import java.util.regex.Pattern;
 import java.util.stream.Collectors;
 import com.todayus.entity.Diary;
 
@@ -20,68 +19,147 @@ import com.todayus.entity.Diary;
 @RequiredArgsConstructor
 public class AIAnalysisService {
 
-    private final OpenAiService openAiService;
+    private final OpenAiClient openAiClient;
     private final ObjectMapper objectMapper = new ObjectMapper();
 
-    public EmotionAnalysisResult analyzeEmotion(String title, String content) {
-        try {
-            String prompt = createEmotionAnalysisPrompt(title, content);
-            
-            ChatCompletionRequest chatRequest = ChatCompletionRequest.builder()
-                    .model("gpt-4")
-                    .messages(List.of(
-                            new ChatMessage(ChatMessageRole.SYSTEM.value(), getSystemPrompt()),
-                            new ChatMessage(ChatMessageRole.USER.value(), prompt)
-                    ))
-                    .maxTokens(500)
-                    .temperature(0.3)
-                    .build();
+    /** 일기 분석 프롬프트가 바뀌면 올려서 AiResultCache의 이전 결과를 무효화 */
+    public static final String PROMPT_VERSION = "diary-v2";
 
-            List<ChatCompletionChoice> choices = openAiService.createChatCompletion(chatRequest).getChoices();
-            
-            if (choices.isEmpty()) {
-                log.warn("No response from OpenAI");
-                return createFallbackResult();
-            }
+    private static final List<String> VALID_EMOTIONS = List.of("😊", "🥰", "😌", "😔", "😠", "😰", "🤔", "😴");
+    private static final int MAX_DESCRIPTION_LENGTH = 30;
+    private static final int MAX_COMMENT_LENGTH = 200;
+    private static final String FALLBACK_COMMENT = "오늘도 소중한 일기를 작성해주셔서 감사해요! 💕";
+    public static final String EMPTY_WEEKLY_EMOTION_SUMMARY = "이번 주에는 작성된 일기가 없어요.\n감정을 기록해보시는 건 어떨까요? 🌟";
+    public static final String FALLBACK_WEEKLY_EMOTION_SUMMARY = "이번 주의 감정들을 정리하고 있어요.\n소중한 마음들이 담긴 한 주였네요 💝";
+    public static final String FALLBACK_COUPLE_SUMMARY = "서로를 향한 마음이\n일기 속에 따뜻하게\n담겨있는 소중한 시간 💕";
 
-            String response = choices.get(0).getMessage().getContent();
-            log.info("OpenAI Response: {}", response);
-            
-            return parseEmotionAnalysisResult(response);
-            
-        } catch (Exception e) {
-            log.error("Error analyzing emotion with OpenAI: {}", e.getMessage(), e);
-            return createFallbackResult();
-        }
+    @Value("${openai.analysis.combined:true}")
+    private boolean combinedAnalysis;
+
+    /**
+     * AI 분석 재시도를 모두 실패했을 때 저장할 대체 결과
+     */
+    public DiaryAnalysisResult createFallbackAnalysis() {
+        EmotionAnalysisResult emotion = createFallbackResult();
+        return new DiaryAnalysisResult(emotion.getEmotion(), emotion.getDescription(), FALLBACK_COMMENT, true);
     }
 
-    public String generateAIComment(String title, String content, String detectedEmotion) {
-        try {
-            String prompt = createCommentGenerationPrompt(title, content, detectedEmotion);
-            
-            ChatCompletionRequest chatRequest = ChatCompletionRequest.builder()
-                    .model("gpt-4")
-                    .messages(List.of(
-                            new ChatMessage(ChatMessageRole.SYSTEM.value(), getCommentSystemPrompt()),
-                            new ChatMessage(ChatMessageRole.USER.value(), prompt)
-                    ))
-                    .maxTokens(300)
-                    .temperature(0.7)
-                    .build();
+    /**
+     * 일기 감정 분석 + AI 댓글 생성 (백그라운드 작업 스레드용, 결과를 기다림)
+     */
+    public DiaryAnalysisResult analyzeDiary(String title, String content) {
+        return analyzeDiaryAsync(title, content).block();
+    }
 
-            List<ChatCompletionChoice> choices = openAiService.createChatCompletion(chatRequest).getChoices();
-            
-            if (choices.isEmpty()) {
-                log.warn("No comment response from OpenAI");
-                return "오늘도 소중한 일기를 작성해주셔서 감사해요! 💕";
-            }
+    /**
+     * 일기 감정 분석 + AI 댓글 생성
+     * 한 번의 호출로 감정/설명/댓글을 JSON으로 받고, 응답이 스키마에 맞지 않으면 기존 2회 호출 방식으로 대체합니다.
+     * 타임아웃, 서킷 열림, 동시 호출 제한 등 호출 자체의 실패는 대체하지 않고 오류로 전달합니다.
+     */
+    public Mono<DiaryAnalysisResult> analyzeDiaryAsync(String title, String content) {
+        if (!combinedAnalysis) {
+            return analyzeDiaryInSeparateCalls(title, content);
+        }
 
-            return choices.get(0).getMessage().getContent().trim();
-            
-        } catch (Exception e) {
-            log.error("Error generating AI comment: {}", e.getMessage(), e);
-            return "오늘도 소중한 일기를 작성해주셔서 감사해요! 💕";
+        return openAiClient.chat(createCombinedAnalysisRequest(title, content))
+                .doOnNext(response -> log.info("OpenAI combined analysis response: {}", response))
+                // 전송/호출 제한 오류는 그대로 전달하고(작업 재시도), 응답 형식이 맞지 않을 때만 대체 호출
+                .mapNotNull(this::parseDiaryAnalysisResult)
+                .switchIfEmpty(Mono.defer(() -> {
+                    log.info("Falling back to separate emotion/comment calls");
+                    return analyzeDiaryInSeparateCalls(title, content);
+                }));
+    }
+
+    /**
+     * analyzeDiary의 스트리밍 버전 (백그라운드 작업 스레드용)
+     * 응답을 토큰 단위로 받으면서 comment 필드 값이 생성되는 대로 onCommentDelta에 전달합니다.
+     * 최종 결과는 analyzeDiary와 같은 검증을 거치며, 응답 형식이 맞지 않으면 2회 호출 방식으로 대체합니다 (이 경우 델타는 무효).
+     */
+    public DiaryAnalysisResult analyzeDiaryStreaming(String title, String content, Consumer<String> onCommentDelta) {
+        if (!combinedAnalysis) {
+            return analyzeDiary(title, content);
+        }
+
+        StringBuilder response = new StringBuilder();
+        JsonStringFieldStreamer commentStreamer = new JsonStringFieldStreamer("comment", onCommentDelta);
+
+        // 스트림 오류는 그대로 전달되어 작업이 재시도된다
+        openAiClient.streamChat(createCombinedAnalysisRequest(title, content))
+                .doOnNext(delta -> {
+                    response.append(delta);
+                    commentStreamer.accept(delta);
+                })
+                .blockLast();
+        log.info("OpenAI streamed analysis response: {}", response);
+
+        DiaryAnalysisResult result = parseDiaryAnalysisResult(response.toString());
+        if (result != null) {
+            return result;
         }
+        log.info("Falling back to separate emotion/comment calls");
+
+        return analyzeDiaryInSeparateCalls(title, content).block();
+    }
+
+    private Mono<DiaryAnalysisResult> analyzeDiaryInSeparateCalls(String title, String content) {
+        return analyzeEmotionAsync(title, content)
+                .flatMap(emotionResult -> generateAICommentAsync(title, content, emotionResult.getDescription())
+                        .map(comment -> new DiaryAnalysisResult(
+                                emotionResult.getEmotion(),
+                                emotionResult.getDescription(),
+                                comment,
+                                emotionResult.isFallback() || FALLBACK_COMMENT.equals(comment))));
+    }
+
+    private OpenAiClient.ChatRequest createCombinedAnalysisRequest(String title, String content) {
+        return OpenAiClient.ChatRequest.builder()
+                .systemPrompt(getCombinedSystemPrompt())
+                .userPrompt(createCombinedAnalysisPrompt(title, content))
+                .maxTokens(600)
+                .temperature(0.5)
+                .build();
+    }
+
+    public Mono<EmotionAnalysisResult> analyzeEmotionAsync(String title, String content) {
+        OpenAiClient.ChatRequest chatRequest = OpenAiClient.ChatRequest.builder()
+                .systemPrompt(getSystemPrompt())
+                .userPrompt(createEmotionAnalysisPrompt(title, content))
+                .maxTokens(500)
+                .temperature(0.3)
+                .build();
+
+        return openAiClient.chat(chatRequest)
+                .doOnNext(response -> log.info("OpenAI Response: {}", response))
+                .map(this::parseEmotionAnalysisResult)
+                .switchIfEmpty(Mono.fromSupplier(() -> {
+                    log.warn("No response from OpenAI");
+                    return createFallbackResult();
+                }))
+                .onErrorResume(e -> {
+                    log.error("Error analyzing emotion with OpenAI: {}", e.getMessage(), e);
+                    return Mono.just(createFallbackResult());
+                });
+    }
+
+    public Mono<String> generateAICommentAsync(String title, String content, String detectedEmotion) {
+        OpenAiClient.ChatRequest chatRequest = OpenAiClient.ChatRequest.builder()
+                .systemPrompt(getCommentSystemPrompt())
+                .userPrompt(createCommentGenerationPrompt(title, content, detectedEmotion))
+                .maxTokens(300)
+                .temperature(0.7)
+                .build();
+
+        return openAiClient.chat(chatRequest)
+                .map(String::trim)
+                .switchIfEmpty(Mono.fromSupplier(() -> {
+                    log.warn("No comment response from OpenAI");
+                    return FALLBACK_COMMENT;
+                }))
+                .onErrorResume(e -> {
+                    log.error("Error generating AI comment: {}", e.getMessage(), e);
+                    return Mono.just(FALLBACK_COMMENT);
+                });
     }
 
     private String getSystemPrompt() {
@@ -114,6 +192,36 @@ public class AIAnalysisService {
                 """;
     }
 
+    private String getCombinedSystemPrompt() {
+        return """
+                당신은 커플 일기 앱의 감정 분석가이자 따뜻하고 공감적인 AI 친구입니다.
+                사용자의 일기를 읽고 감정을 분석한 뒤, 그 감정에 맞는 댓글을 작성해주세요.
+                
+                응답은 다른 설명 없이 반드시 다음 JSON 형식으로만 해주세요:
+                {
+                    "emotion": "감정을 나타내는 이모지 (😊, 🥰, 😌, 😔, 😠, 😰, 🤔, 😴 중 하나)",
+                    "description": "감정에 대한 짧은 한국어 설명 (예: 행복해요, 사랑스러워요, 평온해요, 우울해요, 화나요, 불안해요, 복잡해요, 피곤해요)",
+                    "comment": "일기에 대한 댓글"
+                }
+                
+                댓글 조건:
+                - 50-80자 정도의 간결한 댓글
+                - 감정에 공감하고 위로하는 톤
+                - 커플 관계를 응원하는 내용
+                - 자연스러운 한국어 사용
+                - 이모지 1-2개 포함
+                """;
+    }
+
+    private String createCombinedAnalysisPrompt(String title, String content) {
+        return String.format("""
+                다음 일기를 분석하고 댓글을 작성해주세요:
+                
+                제목: %s
+                내용: %s
+                """, title, content);
+    }
+
     private String createEmotionAnalysisPrompt(String title, String content) {
         return String.format("""
                 다음 일기의 감정을 분석해주세요:
@@ -139,23 +247,12 @@ public class AIAnalysisService {
 
     private EmotionAnalysisResult parseEmotionAnalysisResult(String response) {
         try {
-            // JSON 응답에서 ```json 부분 제거
-            String jsonResponse = response;
-            if (response.contains("```json")) {
-                jsonResponse = response.substring(response.indexOf("```json") + 7);
-                if (jsonResponse.contains("```")) {
-                    jsonResponse = jsonResponse.substring(0, jsonResponse.indexOf("```"));
-                }
-            }
-            
-            JsonNode jsonNode = objectMapper.readTree(jsonResponse.trim());
-            
-            String emotion = jsonNode.path("emotion").asText();
-            String description = jsonNode.path("description").asText();
-            
-            // 유효한 이모지인지 확인
-            if (!isValidEmotion(emotion)) {
-                log.warn("Invalid emotion detected: {}, using fallback", emotion);
+            JsonNode jsonNode = readJsonObject(response);
+            String emotion = requireText(jsonNode, "emotion", 8);
+            String description = requireText(jsonNode, "description", MAX_DESCRIPTION_LENGTH);
+
+            if (emotion == null || description == null || !isValidEmotion(emotion)) {
+                log.warn("Invalid emotion analysis result: {}, using fallback", response);
                 return createFallbackResult();
             }
             
@@ -167,25 +264,112 @@ public class AIAnalysisService {
         }
     }
 
+    /**
+     * 통합 분석 응답 검증. 필수 필드가 없거나 형식이 맞지 않으면 null
+     */
+    private DiaryAnalysisResult parseDiaryAnalysisResult(String response) {
+        try {
+            JsonNode jsonNode = readJsonObject(response);
+            String emotion = requireText(jsonNode, "emotion", 8);
+            String description = requireText(jsonNode, "description", MAX_DESCRIPTION_LENGTH);
+            String comment = requireText(jsonNode, "comment", MAX_COMMENT_LENGTH);
+
+            if (emotion == null || description == null || comment == null || !isValidEmotion(emotion)) {
+                log.warn("Combined analysis response failed validation: {}", response);
+                return null;
+            }
+
+            return new DiaryAnalysisResult(emotion, description, comment);
+
+        } catch (Exception e) {
+            log.warn("Error parsing combined analysis result: {}", e.getMessage());
+            return null;
+        }
+    }
+
+    /**
+     * 응답에서 JSON 객체 부분만 추출 (```json 코드 블록이나 앞뒤 설명 문장 제거)
+     */
+    private JsonNode readJsonObject(String response) throws Exception {
+        if (response == null) {
+            throw new IllegalArgumentException("empty response");
+        }
+        int start = response.indexOf('{');
+        int end = response.lastIndexOf('}');
+        if (start < 0 || end < start) {
+            throw new IllegalArgumentException("no JSON object in response");
+        }
+        JsonNode jsonNode = objectMapper.readTree(response.substring(start, end + 1));
+        if (!jsonNode.isObject()) {
+            throw new IllegalArgumentException("response is not a JSON object");
+        }
+        return jsonNode;
+    }
+
+    /**
+     * 문자열 필드 검증. 없거나 비어 있거나 maxLength를 넘으면 null
+     */
+    private String requireText(JsonNode jsonNode, String field, int maxLength) {
+        JsonNode value = jsonNode.get(field);
+        if (value == null || !value.isTextual()) {
+            return null;
+        }
+        String text = value.asText().trim();
+        if (text.isEmpty() || text.length() > maxLength) {
+            return null;
+        }
+        return text;
+    }
+
     private boolean isValidEmotion(String emotion) {
-        return List.of("😊", "🥰", "😌", "😔", "😠", "😰", "🤔", "😴").contains(emotion);
+        return VALID_EMOTIONS.contains(emotion);
     }
 
     private EmotionAnalysisResult createFallbackResult() {
-        return new EmotionAnalysisResult("😊", "행복해요");
+        return new EmotionAnalysisResult("😊", "행복해요", true);
     }
 
     public static class EmotionAnalysisResult {
         private final String emotion;
         private final String description;
+        private final boolean fallback;
 
         public EmotionAnalysisResult(String emotion, String description) {
+            this(emotion, description, false);
+        }
+
+        public EmotionAnalysisResult(String emotion, String description, boolean fallback) {
             this.emotion = emotion;
             this.description = description;
+            this.fallback = fallback;
         }
 
         public String getEmotion() { return emotion; }
         public String getDescription() { return description; }
+        public boolean isFallback() { return fallback; }
+    }
+
+    public static class DiaryAnalysisResult {
+        private final String emotion;
+        private final String description;
+        private final String comment;
+        private final boolean fallback;
+
+        public DiaryAnalysisResult(String emotion, String description, String comment) {
+            this(emotion, description, comment, false);
+        }
+
+        public DiaryAnalysisResult(String emotion, String description, String comment, boolean fallback) {
+            this.emotion = emotion;
+            this.description = description;
+            this.comment = comment;
+            this.fallback = fallback;
+        }
+
+        public String getEmotion() { return emotion; }
+        public String getDescription() { return description; }
+        public String getComment() { return comment; }
+        public boolean isFallback() { return fallback; }
     }
 
     /**
@@ -194,7 +378,7 @@ public class AIAnalysisService {
     public String generateWeeklyEmotionSummary(List<Diary> weeklyDiaries) {
         try {
             if (weeklyDiaries.isEmpty()) {
-                return "이번 주에는 작성된 일기가 없어요.\n감정을 기록해보시는 건 어떨까요? 🌟";
+                return EMPTY_WEEKLY_EMOTION_SUMMARY;
             }
 
             // 이번 주 일기들의 감정과 내용을 분석할 텍스트로 준비
@@ -210,39 +394,46 @@ public class AIAnalysisService {
 
             String prompt = createWeeklyEmotionSummaryPrompt(diariesText);
             
-            ChatCompletionRequest chatRequest = ChatCompletionRequest.builder()
-                    .model("gpt-4")
-                    .messages(List.of(
-                            new ChatMessage(ChatMessageRole.SYSTEM.value(), getWeeklyEmotionSummarySystemPrompt()),
-                            new ChatMessage(ChatMessageRole.USER.value(), prompt)
-                    ))
+            OpenAiClient.ChatRequest chatRequest = OpenAiClient.ChatRequest.builder()
+                    .systemPrompt(getWeeklyEmotionSummarySystemPrompt())
+                    .userPrompt(prompt)
                     .maxTokens(150)
                     .temperature(0.7)
                     .build();
 
-            List<ChatCompletionChoice> choices = openAiService.createChatCompletion(chatRequest).getChoices();
+            // 스케줄러 스레드에서만 호출되므로 결과를 기다린다
+            String response = openAiClient.chat(chatRequest).block();
             
-            if (choices.isEmpty()) {
-                return "이번 주의 감정들을 정리하고 있어요.\n소중한 마음들이 담긴 한 주였네요 💝";
+            if (response == null) {
+                return FALLBACK_WEEKLY_EMOTION_SUMMARY;
             }
 
-            return choices.get(0).getMessage().getContent().trim();
+            return response.trim();
 
         } catch (Exception e) {
             log.error("Error generating weekly emotion summary: {}", e.getMessage(), e);
-            return "이번 주의 감정들을 정리하고 있어요.\n소중한 마음들이 담긴 한 주였네요 💝";
+            return FALLBACK_WEEKLY_EMOTION_SUMMARY;
         }
     }
 
     /**
-     * 커플의 최근 일기들을 바탕으로 3줄 요약을 생성
+     * 커플의 최근 일기들을 바탕으로 3줄 요약을 생성 (백그라운드 작업 스레드용, 결과를 기다림)
      */
     public String generateCoupleSummary(List<Diary> recentDiaries) {
-        try {
-            if (recentDiaries.isEmpty()) {
-                return "아직 작성된 일기가 없어요.\n오늘부터 함께 소중한 순간들을\n기록해보세요 💕";
-            }
+        return generateCoupleSummaryAsync(recentDiaries).block();
+    }
 
+    /**
+     * 커플의 최근 일기들을 바탕으로 3줄 요약을 생성
+     * 프롬프트는 호출 스레드에서 바로 만들어지므로, 일기의 지연 로딩 필드는 트랜잭션 안에서 호출해야 합니다.
+     */
+    public Mono<String> generateCoupleSummaryAsync(List<Diary> recentDiaries) {
+        if (recentDiaries.isEmpty()) {
+            return Mono.just("아직 작성된 일기가 없어요.\n오늘부터 함께 소중한 순간들을\n기록해보세요 💕");
+        }
+
+        OpenAiClient.ChatRequest chatRequest;
+        try {
             // 최근 일기들의 내용을 요약할 텍스트로 준비
             String diariesText = recentDiaries.stream()
                     .limit(10) // 최근 10개까지만
@@ -254,34 +445,28 @@ public class AIAnalysisService {
                                 : diary.getContent()))
                     .collect(Collectors.joining("\n\n"));
 
-            String prompt = createCoupleSummaryPrompt(diariesText);
-            
-            ChatCompletionRequest chatRequest = ChatCompletionRequest.builder()
-                    .model("gpt-4")
-                    .messages(List.of(
-                            new ChatMessage(ChatMessageRole.SYSTEM.value(), getCoupleSummarySystemPrompt()),
-                            new ChatMessage(ChatMessageRole.USER.value(), prompt)
-                    ))
+            chatRequest = OpenAiClient.ChatRequest.builder()
+                    .systemPrompt(getCoupleSummarySystemPrompt())
+                    .userPrompt(createCoupleSummaryPrompt(diariesText))
                     .maxTokens(200)
                     .temperature(0.7)
                     .build();
-
-            List<ChatCompletionChoice> choices = openAiService.createChatCompletion(chatRequest).getChoices();
-            
-            if (choices.isEmpty()) {
-                log.warn("No response from OpenAI for couple summary");
-                return createFallbackCoupleSummary();
-            }
-
-            String response = choices.get(0).getMessage().getContent().trim();
-            log.info("OpenAI Couple Summary Response: {}", response);
-            
-            return response;
-            
         } catch (Exception e) {
-            log.error("Error generating couple summary: {}", e.getMessage(), e);
-            return createFallbackCoupleSummary();
+            log.error("Error preparing couple summary prompt: {}", e.getMessage(), e);
+            return Mono.just(createFallbackCoupleSummary());
         }
+
+        return openAiClient.chat(chatRequest)
+                .map(String::trim)
+                .doOnNext(response -> log.info("OpenAI Couple Summary Response: {}", response))
+                .switchIfEmpty(Mono.fromSupplier(() -> {
+                    log.warn("No response from OpenAI for couple summary");
+                    return createFallbackCoupleSummary();
+                }))
+                .onErrorResume(e -> {
+                    log.error("Error generating couple summary: {}", e.getMessage(), e);
+                    return Mono.just(createFallbackCoupleSummary());
+                });
     }
 
     private String createWeeklyEmotionSummaryPrompt(String diariesText) {
@@ -338,42 +523,32 @@ public class AIAnalysisService {
     }
 
     private String createFallbackCoupleSummary() {
-        return "서로를 향한 마음이\n일기 속에 따뜻하게\n담겨있는 소중한 시간 💕";
+        return FALLBACK_COUPLE_SUMMARY;
     }
     
     /**
      * 커플 메시지를 순화해서 처리
+     * 실패(타임아웃, 호출 거절, 빈 응답)는 예외로 전달해 AiJobWorker가 재시도하도록 합니다.
      */
     public String processMessageForCouple(String originalMessage, String senderNickname, String receiverNickname) {
-        try {
-            String prompt = createMessageProcessingPrompt(originalMessage, senderNickname, receiverNickname);
-            
-            ChatCompletionRequest chatRequest = ChatCompletionRequest.builder()
-                    .model("gpt-4")
-                    .messages(List.of(
-                            new ChatMessage(ChatMessageRole.SYSTEM.value(), getMessageProcessingSystemPrompt()),
-                            new ChatMessage(ChatMessageRole.USER.value(), prompt)
-                    ))
-                    .maxTokens(300)
-                    .temperature(0.7)
-                    .build();
-
-            List<ChatCompletionChoice> choices = openAiService.createChatCompletion(chatRequest).getChoices();
-            
-            if (choices.isEmpty()) {
-                log.warn("No response from OpenAI for message processing");
-                return originalMessage; // 실패 시 원본 반환
-            }
-
-            String processedMessage = choices.get(0).getMessage().getContent().trim();
-            log.info("Message processed by AI: '{}' -> '{}'", originalMessage, processedMessage);
-            
-            return processedMessage;
-            
-        } catch (Exception e) {
-            log.error("Error processing message with AI", e);
-            return originalMessage; // 오류 시 원본 반환
+        String prompt = createMessageProcessingPrompt(originalMessage, senderNickname, receiverNickname);
+        
+        OpenAiClient.ChatRequest chatRequest = OpenAiClient.ChatRequest.builder()
+                .systemPrompt(getMessageProcessingSystemPrompt())
+                .userPrompt(prompt)
+                .maxTokens(300)
+                .temperature(0.7)
+                .build();
+
+        // AI 작업 스레드에서만 호출되므로 결과를 기다린다
+        String response = openAiClient.chat(chatRequest).block();
+        if (response == null || response.isBlank()) {
+            throw new IllegalStateException("OpenAI 메시지 순화 응답이 비어 있습니다.");
         }
+
+        String processedMessage = response.trim();
+        log.info("Message processed by AI: '{}' -> '{}'", originalMessage, processedMessage);
+        return processedMessage;
     }
     
     private String createMessageProcessingPrompt(String originalMessage, String senderNickname, String receiverNickname) {
@@ -413,37 +588,27 @@ public class AIAnalysisService {
 
     /**
      * 주간 피드백 메시지를 순화하여 전달
+     * 실패는 예외로 전달해 AiJobWorker가 재시도하도록 합니다.
      */
     public String refineWeeklyFeedback(String originalMessage, String senderNickname, String receiverNickname) {
-        try {
-            String prompt = createFeedbackRefinementPrompt(originalMessage, senderNickname, receiverNickname);
-            
-            ChatCompletionRequest chatRequest = ChatCompletionRequest.builder()
-                    .model("gpt-4")
-                    .messages(List.of(
-                            new ChatMessage(ChatMessageRole.SYSTEM.value(), getFeedbackRefinementSystemPrompt()),
-                            new ChatMessage(ChatMessageRole.USER.value(), prompt)
-                    ))
-                    .maxTokens(400)
-                    .temperature(0.5)
-                    .build();
-
-            List<ChatCompletionChoice> choices = openAiService.createChatCompletion(chatRequest).getChoices();
-            
-            if (choices.isEmpty()) {
-                log.warn("No response from OpenAI for feedback refinement");
-                return createFallbackRefinedMessage(originalMessage, senderNickname);
-            }
-
-            String response = choices.get(0).getMessage().getContent().trim();
-            log.info("OpenAI Feedback Refinement Response: {}", response);
-            
-            return response;
-            
-        } catch (Exception e) {
-            log.error("Error refining weekly feedback: {}", e.getMessage(), e);
-            return createFallbackRefinedMessage(originalMessage, senderNickname);
+        String prompt = createFeedbackRefinementPrompt(originalMessage, senderNickname, receiverNickname);
+        
+        OpenAiClient.ChatRequest chatRequest = OpenAiClient.ChatRequest.builder()
+                .systemPrompt(getFeedbackRefinementSystemPrompt())
+                .userPrompt(prompt)
+                .maxTokens(400)
+                .temperature(0.5)
+                .build();
+
+        // AI 작업 스레드에서만 호출되므로 결과를 기다린다
+        String response = openAiClient.chat(chatRequest).block();
+        if (response == null || response.isBlank()) {
+            throw new IllegalStateException("OpenAI 피드백 순화 응답이 비어 있습니다.");
         }
+
+        response = response.trim();
+        log.info("OpenAI Feedback Refinement Response: {}", response);
+        return response;
     }
 
     private String createFeedbackRefinementPrompt(String originalMessage, String senderNickname, String receiverNickname) {
@@ -479,15 +644,67 @@ public class AIAnalysisService {
                 """;
     }
 
-    private String createFallbackRefinedMessage(String originalMessage, String senderNickname) {
-        return String.format("""
-                %s님이 마음속 깊이 간직했던 이야기가 있어요.
-                
-                서로를 더 깊이 이해하고 
-                더욱 사랑하는 마음으로
-                함께 성장해나가고 싶다고 해요 💕
-                
-                소중한 마음이 잘 전달되길 바라요.
-                """, senderNickname);
+    /**
+     * 스트리밍 중인 JSON 텍스트에서 특정 문자열 필드의 값만 순서대로 꺼내 전달
+     */
+    private static class JsonStringFieldStreamer {
+        private final Pattern fieldStart;
+        private final Consumer<String> onDelta;
+        private final StringBuilder seen = new StringBuilder();
+        private boolean inValue;
+        private boolean done;
+        private boolean escaping;
+        private StringBuilder unicode;
+
+        JsonStringFieldStreamer(String field, Consumer<String> onDelta) {
+            this.fieldStart = Pattern.compile("\"" + Pattern.quote(field) + "\"\\s*:\\s*\"$");
+            this.onDelta = onDelta;
+        }
+
+        void accept(String chunk) {
+            if (done) {
+                return;
+            }
+            StringBuilder out = new StringBuilder();
+            for (char c : chunk.toCharArray()) {
+                if (done) {
+                    break;
+                }
+                if (!inValue) {
+                    seen.append(c);
+                    if (c == '"' && fieldStart.matcher(seen).find()) {
+                        inValue = true;
+                    }
+                } else if (unicode != null) {
+                    unicode.append(c);
+                    if (unicode.length() == 4) {
+                        try {
+                            out.append((char) Integer.parseInt(unicode.toString(), 16));
+                        } catch (NumberFormatException ignored) {
+                            // 잘못된 이스케이프는 버린다
+                        }
+                        unicode = null;
+                    }
+                } else if (escaping) {
+                    escaping = false;
+                    switch (c) {
+                        case 'n': out.append('\n'); break;
+                        case 't': out.append('\t'); break;
+                        case 'r': break;
+                        case 'u': unicode = new StringBuilder(); break;
+                        default: out.append(c);
+                    }
+                } else if (c == '\\') {
+                    escaping = true;
+                } else if (c == '"') {
+                    done = true;
+                } else {
+                    out.append(c);
+                }
+            }
+            if (out.length() > 0) {
+                onDelta.accept(out.toString());
+            }
+        }
     }
-}
\ No newline at end of file
+}
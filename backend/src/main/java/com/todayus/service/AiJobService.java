@@ -0,0 +1,83 @@
+package com.todayus.service;
+
+import com.todayus.entity.AiJob;
+import com.todayus.repository.AiJobRepository;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.util.List;
+
+/**
+ * ai_jobs 테이블 기반 AI 작업 큐
+ * 작업 등록은 호출한 서비스의 트랜잭션에 포함되므로, 데이터가 커밋되면 작업도 함께 커밋됩니다.
+ */
+@Slf4j
+@Service
+@RequiredArgsConstructor
+@Transactional
+public class AiJobService {
+
+    private static final int MAX_ERROR_LENGTH = 1000;
+
+    private final AiJobRepository aiJobRepository;
+
+    public void enqueue(AiJob.JobType jobType, Long targetId) {
+        aiJobRepository.enqueue(jobType.name(), targetId);
+        log.debug("AI job enqueued: {} {}", jobType, targetId);
+    }
+
+    /**
+     * delayMillis 뒤에 실행되도록 등록 (일괄 등록 시 실행 시점을 분산해 호출 속도 제한)
+     */
+    public void enqueueAfter(AiJob.JobType jobType, Long targetId, long delayMillis) {
+        aiJobRepository.enqueueAfter(jobType.name(), targetId, delayMillis);
+    }
+
+    /**
+     * 실행 가능한 작업을 최대 limit개까지 점유 (FOR UPDATE SKIP LOCKED로 워커 간 중복 점유 방지)
+     */
+    public List<AiJob> claim(String workerId, String claimToken, int limit) {
+        List<Long> ids = aiJobRepository.lockRunnableJobIds(limit);
+        if (ids.isEmpty()) {
+            return List.of();
+        }
+        aiJobRepository.markRunning(ids, workerId, claimToken);
+        return aiJobRepository.findAllById(ids);
+    }
+
+    public void complete(AiJob job) {
+        if (aiJobRepository.markDone(job.getId(), job.getClaimToken()) == 0) {
+            log.info("AI job {} was re-enqueued while running, leaving it pending", job.getId());
+        }
+    }
+
+    public void retryLater(AiJob job, long delaySeconds, Exception error) {
+        aiJobRepository.reschedule(job.getId(), job.getClaimToken(), delaySeconds, describe(error));
+    }
+
+    public void fail(AiJob job, Exception error) {
+        aiJobRepository.markFailed(job.getId(), job.getClaimToken(), describe(error));
+    }
+
+    public void release(AiJob job, long delaySeconds) {
+        aiJobRepository.release(job.getId(), job.getClaimToken(), delaySeconds);
+    }
+
+    public int releaseExpiredLeases(long leaseSeconds) {
+        return aiJobRepository.releaseExpiredLeases(leaseSeconds);
+    }
+
+    public int backfillPendingWork() {
+        return aiJobRepository.backfillDiaryJobs()
+                + aiJobRepository.backfillCoupleMessageJobs()
+                + aiJobRepository.backfillWeeklyFeedbackJobs()
+                + aiJobRepository.backfillCoupleDailySummaryJobs();
+    }
+
+    private String describe(Exception error) {
+        String message = error.getClass().getSimpleName() + ": " + error.getMessage();
+        return message.length() > MAX_ERROR_LENGTH ? message.substring(0, MAX_ERROR_LENGTH) : message;
+    }
+}
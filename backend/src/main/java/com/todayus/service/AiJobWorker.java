@@ -0,0 +1,181 @@
+package com.todayus.service;
+
+import com.todayus.entity.AiJob;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.net.InetAddress;
+import java.util.List;
+import java.util.UUID;
+
+/**
+ * ai_jobs 큐 워커
+ * 실행 풀에 여유가 있는 만큼만 작업을 점유하고, 실패한 작업은 지수 백오프로 재시도합니다.
+ * 여러 인스턴스가 동시에 폴링해도 SKIP LOCKED로 같은 작업을 중복 점유하지 않습니다.
+ */
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class AiJobWorker {
+
+    private final AiJobService aiJobService;
+    private final AiTaskDispatcher aiTaskDispatcher;
+    private final DiaryService diaryService;
+    private final CoupleMessageService coupleMessageService;
+    private final WeeklyFeedbackService weeklyFeedbackService;
+    private final WeeklyEmotionSummaryService weeklyEmotionSummaryService;
+    private final MeterRegistry meterRegistry;
+
+    private final String workerId = resolveWorkerId();
+
+    @Value("${app.ai.jobs.batch-size:20}")
+    private int batchSize;
+
+    @Value("${app.ai.jobs.max-attempts:5}")
+    private int maxAttempts;
+
+    @Value("${app.ai.jobs.backoff-base-seconds:30}")
+    private long backoffBaseSeconds;
+
+    @Value("${app.ai.jobs.backoff-max-seconds:3600}")
+    private long backoffMaxSeconds;
+
+    @Value("${app.ai.jobs.lease-seconds:600}")
+    private long leaseSeconds;
+
+    @Value("${app.ai.jobs.release-delay-seconds:5}")
+    private long releaseDelaySeconds;
+
+    /**
+     * 큐 도입 이전에 쌓인 미처리 데이터를 작업으로 등록
+     */
+    @EventListener(ApplicationReadyEvent.class)
+    public void backfillOnStartup() {
+        try {
+            int registered = aiJobService.backfillPendingWork();
+            if (registered > 0) {
+                log.info("Registered {} pending AI jobs on startup", registered);
+            }
+        } catch (Exception e) {
+            log.error("Failed to backfill AI jobs: {}", e.getMessage(), e);
+        }
+    }
+
+    @Scheduled(initialDelayString = "${app.ai.jobs.initial-delay-ms:5000}",
+               fixedDelayString = "${app.ai.jobs.poll-interval-ms:1000}")
+    public void poll() {
+        int capacity = Math.min(batchSize, aiTaskDispatcher.availableCapacity());
+        if (capacity <= 0) {
+            return;
+        }
+
+        List<AiJob> jobs = aiJobService.claim(workerId, UUID.randomUUID().toString(), capacity);
+        if (jobs.isEmpty()) {
+            return;
+        }
+        meterRegistry.counter("ai.jobs.claimed").increment(jobs.size());
+
+        for (AiJob job : jobs) {
+            String kind = job.getJobType().name();
+            // 같은 대상이 아직 실행 중이면(실행 중 재등록) 끝난 뒤 다시 점유하도록 되돌린다
+            if (aiTaskDispatcher.isInFlight(kind, job.getTargetId())
+                    || !aiTaskDispatcher.dispatch(kind, job.getTargetId(), () -> execute(job))) {
+                aiJobService.release(job, releaseDelaySeconds);
+            }
+        }
+    }
+
+    /**
+     * 워커가 비정상 종료되어 RUNNING으로 남은 작업 회수
+     */
+    @Scheduled(fixedDelayString = "${app.ai.jobs.lease-check-interval-ms:60000}")
+    public void recoverExpiredLeases() {
+        int released = aiJobService.releaseExpiredLeases(leaseSeconds);
+        if (released > 0) {
+            log.warn("Released {} AI jobs with expired leases", released);
+        }
+    }
+
+    private void execute(AiJob job) {
+        String type = job.getJobType().name();
+        try {
+            switch (job.getJobType()) {
+                case DIARY_ANALYSIS:
+                    diaryService.runAiAnalysis(job.getTargetId());
+                    break;
+                case COUPLE_MESSAGE:
+                    coupleMessageService.processMessageWithAI(job.getTargetId());
+                    break;
+                case WEEKLY_FEEDBACK:
+                    weeklyFeedbackService.processAIRefinement(job.getTargetId());
+                    break;
+                case COUPLE_DAILY_SUMMARY:
+                    diaryService.runCoupleDailySummary(job.getTargetId());
+                    break;
+                case WEEKLY_EMOTION_SUMMARY:
+                    weeklyEmotionSummaryService.runSummary(job.getTargetId());
+                    break;
+            }
+            aiJobService.complete(job);
+            meterRegistry.counter("ai.jobs.completed", "type", type).increment();
+
+        } catch (Exception e) {
+            if (job.getAttempts() >= maxAttempts) {
+                aiJobService.fail(job, e);
+                meterRegistry.counter("ai.jobs.failed", "type", type).increment();
+                log.error("AI job {} ({} {}) failed after {} attempts: {}",
+                        job.getId(), type, job.getTargetId(), job.getAttempts(), e.getMessage(), e);
+                onAttemptsExhausted(job);
+            } else {
+                long delay = backoffSeconds(job.getAttempts());
+                aiJobService.retryLater(job, delay, e);
+                meterRegistry.counter("ai.jobs.retried", "type", type).increment();
+                log.warn("AI job {} ({} {}) attempt {} failed, retrying in {}s: {}",
+                        job.getId(), type, job.getTargetId(), job.getAttempts(), delay, e.getMessage());
+            }
+        }
+    }
+
+    /**
+     * 재시도를 모두 소진한 작업은 AI 없이 전달할 수 있는 대체 결과를 저장
+     */
+    private void onAttemptsExhausted(AiJob job) {
+        try {
+            switch (job.getJobType()) {
+                case DIARY_ANALYSIS:
+                    diaryService.storeFallbackAnalysis(job.getTargetId());
+                    break;
+                case COUPLE_MESSAGE:
+                    coupleMessageService.deliverOriginalMessage(job.getTargetId());
+                    break;
+                case WEEKLY_FEEDBACK:
+                    weeklyFeedbackService.deliverOriginalFeedback(job.getTargetId());
+                    break;
+                default:
+                    break;
+            }
+        } catch (Exception e) {
+            log.error("Fallback for AI job {} ({} {}) failed: {}",
+                    job.getId(), job.getJobType(), job.getTargetId(), e.getMessage(), e);
+        }
+    }
+
+    private long backoffSeconds(int attempts) {
+        long delay = backoffBaseSeconds << Math.min(Math.max(attempts - 1, 0), 20);
+        return Math.min(delay, backoffMaxSeconds);
+    }
+
+    private static String resolveWorkerId() {
+        try {
+            return InetAddress.getLocalHost().getHostName();
+        } catch (Exception e) {
+            return "worker-" + UUID.randomUUID().toString().substring(0, 8);
+        }
+    }
+}
@@ -0,0 +1,158 @@
+package com.todayus.service;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.todayus.entity.AiResultCacheEntry;
+import com.todayus.repository.AiResultCacheRepository;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.text.Normalizer;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.HexFormat;
+import java.util.Optional;
+
+/**
+ * 일기 AI 분석 결과 캐시
+ * 프롬프트 버전과 정규화된 제목/내용의 해시를 키로 사용하므로, 텍스트가 같으면 OpenAI 호출 없이 이전 결과를 재사용합니다.
+ * 메모리(Caffeine) → DB(ai_result_cache) 순으로 조회합니다.
+ * DB 결과는 persistent-ttl-days가 지나면 조회에서 제외되고, 정리 작업이 청크 단위로 삭제합니다.
+ */
+@Slf4j
+@Component
+public class AiResultCache {
+
+    private final AiResultCacheRepository aiResultCacheRepository;
+    private final boolean persistent;
+    private final Duration persistentTtl;
+    private final int cleanupChunkSize;
+    private final MeterRegistry meterRegistry;
+    private final Cache<String, AIAnalysisService.DiaryAnalysisResult> cache;
+    private final Counter hits;
+    private final Counter misses;
+
+    public AiResultCache(AiResultCacheRepository aiResultCacheRepository,
+                         MeterRegistry meterRegistry,
+                         @Value("${app.ai.result-cache.max-size:10000}") long maxSize,
+                         @Value("${app.ai.result-cache.ttl-hours:24}") long ttlHours,
+                         @Value("${app.ai.result-cache.persistent:true}") boolean persistent,
+                         @Value("${app.ai.result-cache.persistent-ttl-days:30}") long persistentTtlDays,
+                         @Value("${app.ai.result-cache.cleanup-chunk-size:1000}") int cleanupChunkSize) {
+        this.aiResultCacheRepository = aiResultCacheRepository;
+        this.persistent = persistent;
+        this.persistentTtl = Duration.ofDays(persistentTtlDays);
+        this.cleanupChunkSize = cleanupChunkSize;
+        this.meterRegistry = meterRegistry;
+        this.cache = Caffeine.newBuilder()
+                .maximumSize(maxSize)
+                .expireAfterWrite(Duration.ofHours(ttlHours))
+                .build();
+        this.hits = meterRegistry.counter("ai.result.cache.requests", "result", "hit");
+        this.misses = meterRegistry.counter("ai.result.cache.requests", "result", "miss");
+        Gauge.builder("ai.result.cache.hit.ratio", this, AiResultCache::hitRatio)
+                .description("AI 분석 결과 캐시 적중률")
+                .register(meterRegistry);
+        Gauge.builder("ai.result.cache.size", cache, Cache::estimatedSize)
+                .register(meterRegistry);
+    }
+
+    public Optional<AIAnalysisService.DiaryAnalysisResult> get(String title, String content) {
+        String key = keyOf(title, content);
+
+        AIAnalysisService.DiaryAnalysisResult result = cache.getIfPresent(key);
+        if (result == null && persistent) {
+            result = aiResultCacheRepository.findFresh(key, staleBefore())
+                    .map(entry -> new AIAnalysisService.DiaryAnalysisResult(
+                            entry.getEmotion(), entry.getDescription(), entry.getComment()))
+                    .orElse(null);
+            if (result != null) {
+                cache.put(key, result);
+            }
+        }
+
+        (result != null ? hits : misses).increment();
+        return Optional.ofNullable(result);
+    }
+
+    /**
+     * 결과 저장. 대체(fallback) 결과는 저장하지 않는다
+     */
+    public void put(String title, String content, AIAnalysisService.DiaryAnalysisResult result) {
+        if (result.isFallback()) {
+            return;
+        }
+        String key = keyOf(title, content);
+        cache.put(key, result);
+
+        if (persistent) {
+            try {
+                aiResultCacheRepository.insertOrReplaceStale(key, result.getEmotion(), result.getDescription(),
+                        result.getComment(), staleBefore());
+            } catch (Exception e) {
+                log.warn("Failed to persist AI result cache entry: {}", e.getMessage());
+            }
+        }
+    }
+
+    /**
+     * 보관 기간이 지난 DB 결과 삭제
+     * 한 번에 cleanup-chunk-size행씩 별도 트랜잭션으로 처리해 잠금과 트랜잭션 크기를 제한한다
+     */
+    @Scheduled(cron = "${app.ai.result-cache.cleanup-cron:0 30 4 * * *}")
+    public void purgeExpired() {
+        if (!persistent) {
+            return;
+        }
+        try {
+            LocalDateTime cutoff = staleBefore();
+            int purged = 0;
+            int chunk;
+            do {
+                chunk = aiResultCacheRepository.deleteCreatedBefore(cutoff, cleanupChunkSize);
+                purged += chunk;
+            } while (chunk == cleanupChunkSize);
+
+            meterRegistry.counter("ai.result.cache.purged").increment(purged);
+            if (purged > 0) {
+                log.info("Purged {} expired AI result cache entries", purged);
+            }
+        } catch (Exception e) {
+            log.error("Error purging AI result cache: {}", e.getMessage());
+        }
+    }
+
+    private LocalDateTime staleBefore() {
+        return LocalDateTime.now().minus(persistentTtl);
+    }
+
+    private double hitRatio() {
+        double total = hits.count() + misses.count();
+        return total == 0 ? 0.0 : hits.count() / total;
+    }
+
+    static String keyOf(String title, String content) {
+        String source = AIAnalysisService.PROMPT_VERSION + "\n" + normalize(title) + "\u0000" + normalize(content);
+        try {
+            byte[] digest = MessageDigest.getInstance("SHA-256").digest(source.getBytes(StandardCharsets.UTF_8));
+            return HexFormat.of().formatHex(digest);
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException("SHA-256 not available", e);
+        }
+    }
+
+    private static String normalize(String text) {
+        if (text == null) {
+            return "";
+        }
+        return Normalizer.normalize(text, Normalizer.Form.NFC).trim().replaceAll("\\s+", " ");
+    }
+}
@@ -0,0 +1,79 @@
+package com.todayus.service;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.core.task.TaskRejectedException;
+import org.springframework.scheduling.concurrent.ThreadPoolTaskExecutor;
+import org.springframework.stereotype.Component;
+
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * AI 작업을 전용 스레드 풀에 제출하는 디스패처
+ * 풀이 포화되면 작업을 거절하며, 호출자(AiJobWorker)는 ai_jobs 행을 대기 상태로 되돌려 다음 폴링에서 다시 제출합니다.
+ */
+@Slf4j
+@Component
+public class AiTaskDispatcher {
+
+    private final ThreadPoolTaskExecutor aiTaskExecutor;
+    private final MeterRegistry meterRegistry;
+    private final Set<String> inFlight = ConcurrentHashMap.newKeySet();
+
+    public AiTaskDispatcher(@Qualifier("aiTaskExecutor") ThreadPoolTaskExecutor aiTaskExecutor,
+                            MeterRegistry meterRegistry) {
+        this.aiTaskExecutor = aiTaskExecutor;
+        this.meterRegistry = meterRegistry;
+    }
+
+    /**
+     * 작업 제출. 풀이 포화되어 거절되면 false를 반환
+     */
+    public boolean dispatch(String kind, Long targetId, Runnable task) {
+        String key = kind + ":" + targetId;
+        if (!inFlight.add(key)) {
+            log.debug("AI task already in flight: {}", key);
+            return true;
+        }
+
+        long enqueuedAt = System.nanoTime();
+        try {
+            aiTaskExecutor.execute(() -> {
+                meterRegistry.timer("ai.executor.queue.wait", "kind", kind)
+                        .record(System.nanoTime() - enqueuedAt, TimeUnit.NANOSECONDS);
+                Timer.Sample sample = Timer.start(meterRegistry);
+                String outcome = "success";
+                try {
+                    task.run();
+                } catch (Exception e) {
+                    outcome = "error";
+                    log.error("AI task {} failed: {}", key, e.getMessage(), e);
+                } finally {
+                    sample.stop(meterRegistry.timer("ai.executor.task", "kind", kind, "outcome", outcome));
+                    inFlight.remove(key);
+                }
+            });
+            return true;
+        } catch (TaskRejectedException e) {
+            inFlight.remove(key);
+            meterRegistry.counter("ai.executor.rejected", "kind", kind).increment();
+            log.warn("AI executor saturated, rejected {}", key);
+            return false;
+        }
+    }
+
+    public boolean isInFlight(String kind, Long targetId) {
+        return inFlight.contains(kind + ":" + targetId);
+    }
+
+    /**
+     * 거절 없이 추가로 받을 수 있는 작업 수 (대기열 잔여 용량)
+     */
+    public int availableCapacity() {
+        return aiTaskExecutor.getThreadPoolExecutor().getQueue().remainingCapacity();
+    }
+}
@@ -21,6 +21,7 @@ public class AnniversaryService {
     
     private final UserRepository userRepository;
     private final CoupleRepository coupleRepository;
+    private final CurrentUserResolver currentUserResolver;
     
     public AnniversaryDto.Response setAnniversary(String userEmail, LocalDate anniversaryDate) {
         User user = findUserByEmail(userEmail);
@@ -115,7 +116,7 @@ public class AnniversaryService {
     }
     
     private User findUserByEmail(String email) {
-        return userRepository.findByEmail(email)
+        return currentUserResolver.findUser(email)
                 .orElseThrow(() -> {
                     log.error("User not found with email: {}", email);
                     return new IllegalStateException("사용자를 찾을 수 없습니다.");
@@ -123,6 +124,11 @@ public class AnniversaryService {
     }
     
     private Couple findCoupleByUser(User user) {
+        Optional<Couple> current = currentUserResolver.findConnectedCouple(user);
+        if (current.isPresent()) {
+            return current.get();
+        }
+        
         Optional<Couple> coupleOpt = coupleRepository.findByUser1OrUser2(user);
         
         if (coupleOpt.isEmpty()) {
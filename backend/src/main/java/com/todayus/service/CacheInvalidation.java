@@ -0,0 +1,32 @@
+package com.todayus.service;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.util.List;
+
+/**
+ * 로컬 캐시 무효화 도우미
+ */
+final class CacheInvalidation {
+
+    private CacheInvalidation() {
+    }
+
+    /**
+     * 즉시 무효화하고, 트랜잭션 중이면 커밋 후 한 번 더 무효화한다
+     * (커밋 전에 다른 요청이 이전 상태를 다시 캐시하는 경우 방지)
+     */
+    static <K> void invalidateNowAndAfterCommit(Cache<K, ?> cache, List<K> keys) {
+        cache.invalidateAll(keys);
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    cache.invalidateAll(keys);
+                }
+            });
+        }
+    }
+}
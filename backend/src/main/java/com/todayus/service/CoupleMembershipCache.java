@@ -0,0 +1,107 @@
+package com.todayus.service;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.todayus.entity.Couple;
+import com.todayus.repository.CoupleMemberRepository;
+import com.todayus.repository.CoupleRepository;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.Getter;
+import lombok.RequiredArgsConstructor;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.Optional;
+
+/**
+ * 사용자 → 커플 소속 캐시
+ * 메모리(Caffeine) → couple_members(user_id 기본키) → couples 순으로 조회합니다.
+ * 커플 연결/해제 시 CoupleService가 onConnected/onDisconnected로 테이블과 캐시를 갱신합니다.
+ * 무효화는 이 인스턴스에만 적용되므로, 다른 인스턴스의 이전 상태가 ttl-seconds 이상 남지 않도록 수명을 짧게 유지합니다.
+ */
+@Component
+public class CoupleMembershipCache {
+
+    private final CoupleMemberRepository coupleMemberRepository;
+    private final CoupleRepository coupleRepository;
+    private final Cache<Long, Membership> cache;
+
+    public CoupleMembershipCache(CoupleMemberRepository coupleMemberRepository,
+                                 CoupleRepository coupleRepository,
+                                 MeterRegistry meterRegistry,
+                                 @Value("${app.couple-membership-cache.max-size:10000}") long maxSize,
+                                 @Value("${app.couple-membership-cache.ttl-seconds:5}") long ttlSeconds) {
+        this.coupleMemberRepository = coupleMemberRepository;
+        this.coupleRepository = coupleRepository;
+        this.cache = Caffeine.newBuilder()
+                .maximumSize(maxSize)
+                .expireAfterWrite(Duration.ofSeconds(ttlSeconds))
+                .build();
+        Gauge.builder("couple.membership.cache.size", cache, Cache::estimatedSize)
+                .register(meterRegistry);
+    }
+
+    /**
+     * 사용자의 연결된 커플 정보. 연결된 커플이 없으면 empty
+     */
+    public Optional<Membership> find(Long userId) {
+        Membership membership = cache.get(userId, this::load);
+        return membership.isConnected() ? Optional.of(membership) : Optional.empty();
+    }
+
+    public Optional<Long> findCoupleId(Long userId) {
+        return find(userId).map(Membership::getCoupleId);
+    }
+
+    public void onConnected(Couple couple) {
+        Long user1Id = couple.getUser1().getId();
+        Long user2Id = couple.getUser2().getId();
+        coupleMemberRepository.upsert(user1Id, couple.getId(), user2Id);
+        coupleMemberRepository.upsert(user2Id, couple.getId(), user1Id);
+        invalidate(user1Id, user2Id);
+    }
+
+    public void onDisconnected(Couple couple) {
+        coupleMemberRepository.deleteByCoupleId(couple.getId());
+        invalidate(couple.getUser1().getId(), couple.getUser2().getId());
+    }
+
+    /**
+     * 즉시 무효화하고, 트랜잭션 중이면 커밋 후 한 번 더 무효화한다
+     */
+    public void invalidate(Long... userIds) {
+        CacheInvalidation.invalidateNowAndAfterCommit(cache, List.of(userIds));
+    }
+
+    private Membership load(Long userId) {
+        Membership member = coupleMemberRepository.findById(userId)
+                .map(m -> new Membership(m.getCoupleId(), m.getPartnerId(), Couple.CoupleStatus.CONNECTED))
+                .orElse(null);
+        if (member != null) {
+            return member;
+        }
+
+        // couple_members에 없으면 couples에서 확인 (조회 트랜잭션 안에서도 호출되므로 여기서는 테이블을 쓰지 않는다)
+        return coupleRepository.findByUserIdAndStatus(userId)
+                .map(couple -> new Membership(couple.getId(), couple.getPartnerId(userId), Couple.CoupleStatus.CONNECTED))
+                .orElse(Membership.NONE);
+    }
+
+    @Getter
+    @RequiredArgsConstructor
+    public static class Membership {
+
+        static final Membership NONE = new Membership(null, null, Couple.CoupleStatus.DISCONNECTED);
+
+        private final Long coupleId;
+        private final Long partnerId;
+        private final Couple.CoupleStatus status;
+
+        public boolean isConnected() {
+            return coupleId != null && status == Couple.CoupleStatus.CONNECTED;
+        }
+    }
+}
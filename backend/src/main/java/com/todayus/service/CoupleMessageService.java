@@ -1,17 +1,20 @@
 package com.todayus.service;
 
 import com.todayus.dto.CoupleMessageDto;
+import com.todayus.entity.AiJob;
 import com.todayus.entity.Couple;
 import com.todayus.entity.CoupleMessage;
+import com.todayus.entity.NotificationOutbox;
 import com.todayus.entity.User;
 import com.todayus.repository.CoupleMessageRepository;
 import com.todayus.repository.CoupleRepository;
 import com.todayus.repository.UserRepository;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
-import org.springframework.scheduling.annotation.Async;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Propagation;
 import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
 
 import java.time.LocalDateTime;
 import java.util.List;
@@ -26,8 +29,12 @@ public class CoupleMessageService {
     
     private final CoupleMessageRepository coupleMessageRepository;
     private final CoupleRepository coupleRepository;
+    private final CurrentUserResolver currentUserResolver;
     private final UserRepository userRepository;
     private final AIAnalysisService aiAnalysisService;
+    private final AiJobService aiJobService;
+    private final NotificationOutboxService notificationOutboxService;
+    private final TransactionTemplate transactionTemplate;
     
     private static final long MAX_WEEKLY_MESSAGES = 1; // 주당 1개 제한
     
@@ -55,8 +62,8 @@ public class CoupleMessageService {
         CoupleMessage savedMessage = coupleMessageRepository.save(message);
         log.info("새로운 대신 전달하기 메시지 생성: {} -> {}", sender.getNickname(), receiver.getNickname());
         
-        // 비동기로 AI 처리 시작
-        processMessageWithAI(savedMessage.getId());
+        // AI 처리 작업을 같은 트랜잭션에 등록 (AiJobWorker가 실행)
+        aiJobService.enqueue(AiJob.JobType.COUPLE_MESSAGE, savedMessage.getId());
         
         return CoupleMessageDto.Response.from(savedMessage);
     }
@@ -147,65 +154,70 @@ public class CoupleMessageService {
     }
     
     /**
-     * AI로 메시지 처리 (비동기)
+     * AI로 메시지 처리 (AiJobWorker에서 호출, OpenAI 호출 동안 트랜잭션을 열지 않음)
      */
-    @Async
+    @Transactional(propagation = Propagation.NOT_SUPPORTED)
     public void processMessageWithAI(Long messageId) {
-        try {
-            CoupleMessage message = coupleMessageRepository.findById(messageId)
-                    .orElseThrow(() -> new IllegalArgumentException("메시지를 찾을 수 없습니다."));
-            
-            if (message.getStatus() != CoupleMessage.MessageStatus.PENDING) {
-                log.warn("이미 처리된 메시지입니다: {}", messageId);
-                return;
-            }
-            
-            log.info("AI 메시지 처리 시작: {}", messageId);
-            
-            // 발신자와 수신자 정보 조회
-            User sender = userRepository.findById(message.getSender().getId())
-                    .orElseThrow(() -> new IllegalStateException("발신자를 찾을 수 없습니다."));
-            User receiver = userRepository.findById(message.getReceiver().getId())
-                    .orElseThrow(() -> new IllegalStateException("수신자를 찾을 수 없습니다."));
-            
-            // AI로 메시지 순화 처리
-            String processedMessage = aiAnalysisService.processMessageForCouple(
-                    message.getOriginalMessage(),
-                    sender.getNickname(),
-                    receiver.getNickname()
-            );
-            
-            // 처리 완료 후 READY 상태로 변경
-            message.setAiProcessedMessage(processedMessage);
-            message.setStatus(CoupleMessage.MessageStatus.READY);
-            coupleMessageRepository.save(message);
-            
-            log.info("AI 메시지 처리 완료: {} -> '{}'", messageId, processedMessage);
-            
-        } catch (Exception e) {
-            log.error("AI 메시지 처리 실패: {}", messageId, e);
-            // 실패한 경우에도 원본 메시지로 전달
-            fallbackProcessMessage(messageId);
+        CoupleMessage message = coupleMessageRepository.findById(messageId).orElse(null);
+        if (message == null) {
+            log.warn("처리할 메시지가 없습니다: {}", messageId);
+            return;
+        }
+        
+        if (message.getStatus() != CoupleMessage.MessageStatus.PENDING) {
+            log.warn("이미 처리된 메시지입니다: {}", messageId);
+            return;
         }
+        
+        log.info("AI 메시지 처리 시작: {}", messageId);
+        
+        // 발신자와 수신자 정보 조회
+        User sender = userRepository.findById(message.getSender().getId())
+                .orElseThrow(() -> new IllegalStateException("발신자를 찾을 수 없습니다."));
+        User receiver = userRepository.findById(message.getReceiver().getId())
+                .orElseThrow(() -> new IllegalStateException("수신자를 찾을 수 없습니다."));
+        
+        // AI로 메시지 순화 처리 (실패하면 예외가 전파되어 작업이 재시도됨)
+        String processedMessage = aiAnalysisService.processMessageForCouple(
+                message.getOriginalMessage(),
+                sender.getNickname(),
+                receiver.getNickname()
+        );
+        
+        // 처리 완료 후 READY 상태로 변경
+        message.setAiProcessedMessage(processedMessage);
+        message.setStatus(CoupleMessage.MessageStatus.READY);
+        saveAsReady(message);
+        
+        log.info("AI 메시지 처리 완료: {} -> '{}'", messageId, processedMessage);
     }
     
     /**
-     * AI 처리 실패 시 원본 메시지로 처리
+     * READY 상태 저장과 수신자 알림 기록을 한 트랜잭션으로 처리
      */
-    private void fallbackProcessMessage(Long messageId) {
-        try {
-            CoupleMessage message = coupleMessageRepository.findById(messageId)
-                    .orElseThrow(() -> new IllegalArgumentException("메시지를 찾을 수 없습니다."));
-            
-            message.setAiProcessedMessage(message.getOriginalMessage());
-            message.setStatus(CoupleMessage.MessageStatus.READY);
+    private void saveAsReady(CoupleMessage message) {
+        transactionTemplate.executeWithoutResult(status -> {
             coupleMessageRepository.save(message);
-            
-            log.info("메시지 폴백 처리 완료: {}", messageId);
-            
-        } catch (Exception e) {
-            log.error("메시지 폴백 처리 실패: {}", messageId, e);
+            notificationOutboxService.publish(NotificationOutbox.EventType.COUPLE_MESSAGE_READY,
+                    message.getId(), message.getReceiver().getId());
+        });
+    }
+    
+    /**
+     * AI 처리 재시도가 모두 실패한 경우 원본 메시지로 전달 (AiJobWorker에서 호출)
+     */
+    @Transactional(propagation = Propagation.NOT_SUPPORTED)
+    public void deliverOriginalMessage(Long messageId) {
+        CoupleMessage message = coupleMessageRepository.findById(messageId).orElse(null);
+        if (message == null || message.getStatus() != CoupleMessage.MessageStatus.PENDING) {
+            return;
         }
+        
+        message.setAiProcessedMessage(message.getOriginalMessage());
+        message.setStatus(CoupleMessage.MessageStatus.READY);
+        saveAsReady(message);
+        
+        log.info("메시지 원본 전달 완료: {}", messageId);
     }
     
     /**
@@ -224,7 +236,7 @@ public class CoupleMessageService {
      * 이메일로 사용자 조회
      */
     private User getUserByEmail(String email) {
-        return userRepository.findByEmail(email)
+        return currentUserResolver.findUser(email)
                 .orElseThrow(() -> {
                     log.error("User not found with email: {}", email);
                     return new IllegalStateException("사용자를 찾을 수 없습니다.");
@@ -235,6 +247,11 @@ public class CoupleMessageService {
      * 사용자의 커플 조회
      */
     private Couple findCoupleByUser(User user) {
+        Optional<Couple> current = currentUserResolver.findConnectedCouple(user);
+        if (current.isPresent()) {
+            return current.get();
+        }
+        
         Optional<Couple> coupleOpt = coupleRepository.findByUser1OrUser2(user);
         
         if (coupleOpt.isEmpty()) {
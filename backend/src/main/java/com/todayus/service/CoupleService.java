@@ -31,6 +31,7 @@ public class CoupleService {
     private final CoupleRepository coupleRepository;
     private final InviteCodeRepository inviteCodeRepository;
     private final UserRepository userRepository;
+    private final CoupleMembershipCache coupleMembershipCache;
     private final SecureRandom secureRandom = new SecureRandom();
     
     @Transactional
@@ -118,6 +119,7 @@ public class CoupleService {
             couple.setStatus(Couple.CoupleStatus.CONNECTED);
             couple.setConnectedAt(LocalDateTime.now());
             coupleRepository.save(couple);
+            coupleMembershipCache.onConnected(couple);
             
             inviteCode.markAsUsed(invitee);
             inviteCodeRepository.save(inviteCode);
@@ -135,6 +137,7 @@ public class CoupleService {
                 .build();
         
         Couple savedCouple = coupleRepository.save(couple);
+        coupleMembershipCache.onConnected(savedCouple);
         
         // 초대 코드 사용 처리
         inviteCode.markAsUsed(invitee);
@@ -202,6 +205,7 @@ public class CoupleService {
         
         couple.setStatus(Couple.CoupleStatus.DISCONNECTED);
         coupleRepository.save(couple);
+        coupleMembershipCache.onDisconnected(couple);
         
         // 해당 사용자의 활성 초대 코드 만료
         User user = userRepository.findById(userId).orElseThrow(()->new IllegalArgumentException("유저 없어요"));
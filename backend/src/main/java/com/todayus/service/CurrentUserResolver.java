@@ -0,0 +1,63 @@
+package com.todayus.service;
+
+import com.todayus.entity.Couple;
+import com.todayus.entity.User;
+import com.todayus.repository.CoupleRepository;
+import com.todayus.repository.UserRepository;
+import com.todayus.security.CurrentUserContext;
+import lombok.RequiredArgsConstructor;
+import org.springframework.stereotype.Component;
+import org.springframework.web.context.request.RequestContextHolder;
+
+import java.util.Objects;
+import java.util.Optional;
+
+/**
+ * 서비스용 현재 사용자/커플 조회
+ * 요청 중이고 이메일이 인증된 사용자와 같으면 CurrentUserContext의 id로 참조(프록시)만 만들어 조회 쿼리를 생략합니다.
+ * 요청 밖(AI 작업, 스케줄러)이나 다른 사용자 조회는 기존처럼 이메일로 조회합니다.
+ * 커플은 CoupleMembershipCache로 찾습니다.
+ */
+@Component
+@RequiredArgsConstructor
+public class CurrentUserResolver {
+
+    private final CurrentUserContext currentUserContext;
+    private final UserRepository userRepository;
+    private final CoupleRepository coupleRepository;
+    private final CoupleMembershipCache coupleMembershipCache;
+
+    public Optional<User> findUser(String email) {
+        if (isCurrentUser(email)) {
+            return Optional.of(userRepository.getReferenceById(currentUserContext.getUserId()));
+        }
+        return userRepository.findByEmail(email);
+    }
+
+    /**
+     * 사용자의 연결된 커플 참조. 연결된 커플이 없으면 empty
+     * (empty일 때 각 서비스는 기존 조회로 상세 오류를 만든다)
+     */
+    public Optional<Couple> findConnectedCouple(User user) {
+        Optional<Long> coupleId = isCurrentUserId(user.getId())
+                ? currentUserContext.getCoupleId(coupleMembershipCache::findCoupleId)
+                : coupleMembershipCache.findCoupleId(user.getId());
+        return coupleId.map(coupleRepository::getReferenceById);
+    }
+
+    private boolean isCurrentUser(String email) {
+        return hasRequestContext()
+                && currentUserContext.isAuthenticated()
+                && Objects.equals(currentUserContext.getEmail(), email);
+    }
+
+    private boolean isCurrentUserId(Long userId) {
+        return hasRequestContext()
+                && currentUserContext.isAuthenticated()
+                && Objects.equals(currentUserContext.getUserId(), userId);
+    }
+
+    private static boolean hasRequestContext() {
+        return RequestContextHolder.getRequestAttributes() != null;
+    }
+}
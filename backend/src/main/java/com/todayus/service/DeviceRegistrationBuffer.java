@@ -0,0 +1,111 @@
+package com.todayus.service;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.todayus.repository.UserDeviceRepository;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * 기기 등록 쓰기 줄이기
+ * - 같은 토큰/사용자/기기 타입의 재등록은 debounce-seconds 동안 DB에 쓰지 않습니다.
+ * - lastUsedAt 갱신은 메모리에 모아 두었다가 주기적으로 토큰 묶음 단위 UPDATE로 반영합니다.
+ */
+@Slf4j
+@Component
+public class DeviceRegistrationBuffer {
+
+    private static final int FLUSH_CHUNK_SIZE = 1000;
+
+    private final UserDeviceRepository userDeviceRepository;
+    private final Cache<String, String> recentRegistrations;
+    private final Set<String> pendingHeartbeats = ConcurrentHashMap.newKeySet();
+
+    public DeviceRegistrationBuffer(UserDeviceRepository userDeviceRepository,
+                                    MeterRegistry meterRegistry,
+                                    @Value("${app.notification.device.debounce-seconds:600}") long debounceSeconds,
+                                    @Value("${app.notification.device.debounce-max-size:100000}") long maxSize) {
+        this.userDeviceRepository = userDeviceRepository;
+        this.recentRegistrations = Caffeine.newBuilder()
+                .maximumSize(maxSize)
+                .expireAfterWrite(Duration.ofSeconds(debounceSeconds))
+                .build();
+
+        Gauge.builder("device.heartbeat.pending", pendingHeartbeats, Set::size)
+                .description("DB 반영을 기다리는 lastUsedAt 갱신 수")
+                .register(meterRegistry);
+    }
+
+    /**
+     * 최근에 같은 내용으로 등록된 토큰이면 true
+     */
+    public boolean isRecentlyRegistered(String fcmToken, Long userId, String deviceType) {
+        return registrationKey(userId, deviceType).equals(recentRegistrations.getIfPresent(fcmToken));
+    }
+
+    public void remember(String fcmToken, Long userId, String deviceType) {
+        recentRegistrations.put(fcmToken, registrationKey(userId, deviceType));
+    }
+
+    /**
+     * 비활성화된 토큰은 다음 등록 요청이 바로 DB에 반영되도록 기록에서 제거
+     */
+    public void forget(Collection<String> fcmTokens) {
+        recentRegistrations.invalidateAll(fcmTokens);
+    }
+
+    public void heartbeat(String fcmToken) {
+        pendingHeartbeats.add(fcmToken);
+    }
+
+    @Scheduled(fixedDelayString = "${app.notification.device.heartbeat-flush-ms:60000}")
+    public void flush() {
+        if (pendingHeartbeats.isEmpty()) {
+            return;
+        }
+
+        List<String> tokens = new ArrayList<>(pendingHeartbeats.size());
+        Iterator<String> iterator = pendingHeartbeats.iterator();
+        while (iterator.hasNext()) {
+            tokens.add(iterator.next());
+            iterator.remove();
+        }
+
+        LocalDateTime seenAt = LocalDateTime.now();
+        int updated = 0;
+        for (int from = 0; from < tokens.size(); from += FLUSH_CHUNK_SIZE) {
+            List<String> chunk = tokens.subList(from, Math.min(from + FLUSH_CHUNK_SIZE, tokens.size()));
+            try {
+                updated += userDeviceRepository.touchLastUsedAt(chunk, seenAt);
+            } catch (Exception e) {
+                // 다음 주기에 다시 반영
+                pendingHeartbeats.addAll(chunk);
+                log.error("Failed to flush {} device heartbeats: {}", chunk.size(), e.getMessage());
+            }
+        }
+        log.debug("Flushed device heartbeats: {} tokens, {} rows updated", tokens.size(), updated);
+    }
+
+    @PreDestroy
+    public void flushOnShutdown() {
+        flush();
+    }
+
+    private static String registrationKey(Long userId, String deviceType) {
+        return userId + ":" + deviceType;
+    }
+}
@@ -0,0 +1,126 @@
+package com.todayus.service;
+
+import com.todayus.dto.DiaryDto;
+import com.todayus.entity.Diary;
+import com.todayus.repository.DiaryRepository;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+import java.io.IOException;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CopyOnWriteArrayList;
+
+/**
+ * 일기 AI 결과 SSE 구독 관리
+ * 이벤트: token (AI 댓글 생성 중 텍스트 조각), done (저장된 최종 결과, 이후 연결 종료)
+ * 구독은 이 인스턴스 메모리에만 있으므로, 다른 인스턴스에서 분석이 끝난 일기는 주기적인 DB 확인으로 done을 보냅니다.
+ * 타임아웃 시에는 그 시점의 DB 상태를 done으로 보내며, aiProcessed가 false면 클라이언트가 다시 구독하거나 일기를 조회합니다.
+ */
+@Slf4j
+@Service
+@RequiredArgsConstructor
+public class DiaryAiStreamService {
+
+    private final DiaryRepository diaryRepository;
+
+    private final Map<Long, List<SseEmitter>> subscribers = new ConcurrentHashMap<>();
+
+    @Value("${app.ai.stream.timeout-ms:90000}")
+    private long timeoutMs;
+
+    public SseEmitter subscribe(Long diaryId) {
+        SseEmitter emitter = new SseEmitter(timeoutMs);
+        subscribers.computeIfAbsent(diaryId, id -> new CopyOnWriteArrayList<>()).add(emitter);
+
+        emitter.onCompletion(() -> remove(diaryId, emitter));
+        emitter.onTimeout(() -> {
+            remove(diaryId, emitter);
+            completeWith(emitter, currentResult(diaryId));
+        });
+        emitter.onError(e -> remove(diaryId, emitter));
+        return emitter;
+    }
+
+    public boolean hasSubscribers(Long diaryId) {
+        List<SseEmitter> emitters = subscribers.get(diaryId);
+        return emitters != null && !emitters.isEmpty();
+    }
+
+    public void sendToken(Long diaryId, String token) {
+        List<SseEmitter> emitters = subscribers.get(diaryId);
+        if (emitters == null) {
+            return;
+        }
+        for (SseEmitter emitter : emitters) {
+            try {
+                emitter.send(SseEmitter.event().name("token").data(token));
+            } catch (IOException | IllegalStateException e) {
+                remove(diaryId, emitter);
+            }
+        }
+    }
+
+    /**
+     * 최종 결과 전송 후 해당 일기의 모든 구독 종료
+     */
+    public void complete(Long diaryId, DiaryDto.AiResult result) {
+        List<SseEmitter> emitters = subscribers.remove(diaryId);
+        if (emitters == null) {
+            return;
+        }
+        for (SseEmitter emitter : emitters) {
+            completeWith(emitter, result);
+        }
+        log.debug("Delivered AI result for diary {} to {} subscribers", diaryId, emitters.size());
+    }
+
+    /**
+     * 다른 인스턴스에서 분석이 끝난 일기의 구독 종료
+     */
+    @Scheduled(fixedDelayString = "${app.ai.stream.poll-interval-ms:3000}")
+    public void completeProcessedElsewhere() {
+        if (subscribers.isEmpty()) {
+            return;
+        }
+        try {
+            for (Diary diary : diaryRepository.findProcessedByIdIn(List.copyOf(subscribers.keySet()))) {
+                complete(diary.getId(), DiaryDto.AiResult.from(diary));
+            }
+        } catch (Exception e) {
+            log.warn("Failed to check AI results for subscribed diaries: {}", e.getMessage());
+        }
+    }
+
+    public void completeWith(SseEmitter emitter, DiaryDto.AiResult result) {
+        try {
+            emitter.send(SseEmitter.event().name("done").data(result));
+            emitter.complete();
+        } catch (IOException | IllegalStateException e) {
+            emitter.completeWithError(e);
+        }
+    }
+
+    private DiaryDto.AiResult currentResult(Long diaryId) {
+        try {
+            return diaryRepository.findById(diaryId)
+                    .map(DiaryDto.AiResult::from)
+                    .orElseGet(() -> DiaryDto.AiResult.builder().diaryId(diaryId).aiProcessed(false).build());
+        } catch (Exception e) {
+            log.warn("Failed to load AI result for diary {}: {}", diaryId, e.getMessage());
+            return DiaryDto.AiResult.builder().diaryId(diaryId).aiProcessed(false).build();
+        }
+    }
+
+    private void remove(Long diaryId, SseEmitter emitter) {
+        subscribers.computeIfPresent(diaryId, (id, emitters) -> {
+            emitters.remove(emitter);
+            return emitters.isEmpty() ? null : emitters;
+        });
+    }
+}
@@ -1,10 +1,14 @@
 package com.todayus.service;
 
+import com.todayus.dto.CursorDto;
 import com.todayus.dto.DiaryDto;
+import com.todayus.entity.AiJob;
 import com.todayus.entity.Couple;
+import com.todayus.entity.CoupleDailySummary;
 import com.todayus.entity.Diary;
 import com.todayus.entity.DiaryComment;
 import com.todayus.entity.User;
+import com.todayus.repository.CoupleDailySummaryRepository;
 import com.todayus.repository.CoupleRepository;
 import com.todayus.repository.DiaryCommentRepository;
 import com.todayus.repository.DiaryRepository;
@@ -14,13 +18,18 @@ import lombok.extern.slf4j.Slf4j;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.PageRequest;
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Propagation;
 import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
 
 import java.time.LocalDate;
+import java.time.LocalDateTime;
 import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
+import java.util.Objects;
 import java.util.Optional;
 import java.util.stream.Collectors;
 
@@ -34,9 +43,46 @@ public class DiaryService {
     private final DiaryCommentRepository commentRepository;
     private final UserRepository userRepository;
     private final CoupleRepository coupleRepository;
+    private final CurrentUserResolver currentUserResolver;
+    private final CoupleDailySummaryRepository coupleDailySummaryRepository;
     private final AIAnalysisService aiAnalysisService;
+    private final AiJobService aiJobService;
+    private final AiResultCache aiResultCache;
+    private final DiaryAiStreamService diaryAiStreamService;
+    private final WeeklyEmotionSummaryService weeklyEmotionSummaryService;
+    private final S3Service s3Service;
+    private final TransactionTemplate transactionTemplate;
     
+    /**
+     * 직접 업로드한 이미지(imageKey)는 트랜잭션 전에 확인하고, 커밋된 뒤에 pending 경로에서 옮긴다.
+     * 롤백되면 객체는 pending에 남아 수명 주기 규칙으로 만료되고, S3 호출 중에는 DB 커넥션을 잡지 않는다
+     */
+    @Transactional(propagation = Propagation.NOT_SUPPORTED)
     public DiaryDto.Response createDiary(String userEmail, DiaryDto.CreateRequest request) {
+        String imageKey = request.getImageKey() != null && !request.getImageKey().isBlank()
+                ? request.getImageKey() : null;
+        String imageUrl = imageKey != null
+                ? s3Service.verifyDiaryImageUpload(findUserByEmail(userEmail).getId(), 0L, imageKey)
+                : request.getImageUrl();
+        
+        DiaryDto.Response response = transactionTemplate.execute(status ->
+                saveDiary(userEmail, request, imageUrl));
+        
+        if (imageKey != null) {
+            try {
+                s3Service.promoteUpload(imageKey);
+            } catch (Exception e) {
+                // 옮기지 못한 이미지는 가리키지 않도록 비운다 (pending 객체는 만료됨)
+                log.error("Failed to move uploaded image {} for diary {}: {}", imageKey, response.getId(), e.getMessage(), e);
+                transactionTemplate.executeWithoutResult(status ->
+                        diaryRepository.findById(response.getId()).ifPresent(diary -> diary.setImageUrl(null)));
+                response.setImageUrl(null);
+            }
+        }
+        return response;
+    }
+    
+    private DiaryDto.Response saveDiary(String userEmail, DiaryDto.CreateRequest request, String imageUrl) {
         User user = findUserByEmail(userEmail);
         Couple couple = findCoupleByUser(user);
         
@@ -53,16 +99,15 @@ public class DiaryService {
                 .content(request.getContent())
                 .diaryDate(request.getDiaryDate())
                 .moodEmoji(request.getMoodEmoji())
-                .imageUrl(request.getImageUrl())
+                .imageUrl(imageUrl)
                 .status(Diary.DiaryStatus.PUBLISHED)
                 .aiProcessed(false)
                 .build();
         
         diary = diaryRepository.save(diary);
         
-        // Trigger AI processing asynchronously
-        Long diaryId = diary.getId();
-        processAiAnalysisAsync(diaryId);
+        // Queue AI processing in the same transaction as the diary
+        aiJobService.enqueue(AiJob.JobType.DIARY_ANALYSIS, diary.getId());
         
         log.info("Diary created: {} by user: {}", diary.getId(), userEmail);
         
@@ -75,13 +120,33 @@ public class DiaryService {
         Couple couple = findCoupleByUser(user);
         
         Pageable pageable = PageRequest.of(page, size);
-        Page<Diary> diaries = diaryRepository.findByCoupleOrderByDiaryDateDescCreatedAtDesc(couple, pageable);
+        return diaryRepository.findListRowsByCoupleId(couple.getId(), pageable)
+                .map(DiaryDto.ListResponse::from);
+    }
+    
+    /**
+     * 커서 기반 일기 목록 ((diaryDate, createdAt, id) 내림차순). cursor가 없으면 첫 페이지
+     */
+    @Transactional(readOnly = true)
+    public CursorDto.Response<DiaryDto.ListResponse> getDiariesByCursor(String userEmail, String cursor, int size) {
+        User user = findUserByEmail(userEmail);
+        Couple couple = findCoupleByUser(user);
         
-        return diaries.map(diary -> {
-            long commentCount = commentRepository.countByDiary(diary);
-            User author = diary.getUser();
-            return DiaryDto.ListResponse.from(diary, author, commentCount);
-        });
+        Pageable pageable = PageRequest.of(0, CursorDto.clampSize(size));
+        Slice<DiaryDto.ListRow> rows;
+        if (cursor == null || cursor.isBlank()) {
+            rows = diaryRepository.findListRowSliceByCoupleId(couple.getId(), pageable);
+        } else {
+            String[] keys = CursorDto.decode(cursor, 3);
+            rows = diaryRepository.findListRowSliceByCoupleIdAfter(couple.getId(),
+                    CursorDto.toDate(keys[0]), CursorDto.toDateTime(keys[1]), CursorDto.toId(keys[2]), pageable);
+        }
+        
+        List<DiaryDto.ListResponse> content = rows.getContent().stream()
+                .map(DiaryDto.ListResponse::from)
+                .toList();
+        return CursorDto.Response.of(content, rows.hasNext(),
+                d -> CursorDto.encode(d.getDiaryDate(), d.getCreatedAt(), d.getId()));
     }
     
     @Transactional(readOnly = true)
@@ -102,6 +167,18 @@ public class DiaryService {
         return DiaryDto.Response.fromWithComments(diary, author, commentResponses);
     }
     
+    @Transactional(readOnly = true)
+    public DiaryDto.AiResult getAiResult(String userEmail, Long diaryId) {
+        User user = findUserByEmail(userEmail);
+        Diary diary = findDiaryById(diaryId);
+        
+        if (!diary.isAccessibleBy(user, diary.getCouple())) {
+            throw new IllegalStateException("일기에 접근할 권한이 없습니다.");
+        }
+        
+        return DiaryDto.AiResult.from(diary);
+    }
+    
     public DiaryDto.Response updateDiary(String userEmail, Long diaryId, DiaryDto.UpdateRequest request) {
         User user = findUserByEmail(userEmail);
         Diary diary = findDiaryById(diaryId);
@@ -110,17 +187,27 @@ public class DiaryService {
             throw new IllegalStateException("일기를 수정할 권한이 없습니다.");
         }
         
+        boolean textChanged = !Objects.equals(diary.getTitle(), request.getTitle())
+                || !Objects.equals(diary.getContent(), request.getContent());
+        
         if (request.getImageUrl() != null) {
             diary.updateContentWithImage(request.getTitle(), request.getContent(), request.getMoodEmoji(), request.getImageUrl());
         } else {
             diary.updateContent(request.getTitle(), request.getContent(), request.getMoodEmoji());
         }
-        diary.setAiProcessed(false); // Reset AI processing flag when content changes
+        
+        // Mood/image-only edits keep the existing AI result
+        if (textChanged) {
+            diary.setAiProcessed(false);
+        }
         
         diary = diaryRepository.save(diary);
         
-        // Trigger AI processing asynchronously for updated content
-        processAiAnalysisAsync(diary.getId());
+        // Queue AI processing for updated content; the day's couple summary is rebuilt afterwards
+        if (textChanged) {
+            aiJobService.enqueue(AiJob.JobType.DIARY_ANALYSIS, diary.getId());
+            coupleDailySummaryRepository.deleteByCoupleIdAndSummaryDate(diary.getCouple().getId(), diary.getDiaryDate());
+        }
         
         log.info("Diary updated: {} by user: {}", diary.getId(), userEmail);
         
@@ -136,6 +223,9 @@ public class DiaryService {
         }
         
         diaryRepository.delete(diary);
+        coupleDailySummaryRepository.deleteByCoupleIdAndSummaryDate(diary.getCouple().getId(), diary.getDiaryDate());
+        // 삭제는 updated_at에 남지 않으므로 주간 감정 요약을 직접 다시 확인
+        aiJobService.enqueue(AiJob.JobType.WEEKLY_EMOTION_SUMMARY, diary.getCouple().getId());
         
         log.info("Diary deleted: {} by user: {}", diaryId, userEmail);
     }
@@ -206,29 +296,20 @@ public class DiaryService {
     }
 
     /**
-     * 주간 감정 요약 생성
+     * 주간 감정 요약 조회
      */
     @Transactional(readOnly = true)
-    public String generateWeeklyEmotionSummary(String userEmail) {
+    public String getWeeklyEmotionSummary(String userEmail) {
         try {
             User user = findUserByEmail(userEmail);
             Couple couple = findCoupleByUser(user);
             
-            // 지난 7일간의 일기를 가져옴
-            LocalDate endDate = LocalDate.now();
-            LocalDate startDate = endDate.minusDays(7);
-            List<Diary> weeklyDiaries = diaryRepository.findByCoupleAndDiaryDateBetweenOrderByDiaryDateDesc(
-                couple, startDate, endDate);
-            
-            if (weeklyDiaries.isEmpty()) {
-                return "이번 주에는 작성된 일기가 없어요.\n감정을 기록해보시는 건 어떨까요? 🌟";
-            }
-            
-            return aiAnalysisService.generateWeeklyEmotionSummary(weeklyDiaries);
+            // 요약은 WeeklyEmotionSummaryService가 주기적으로 미리 생성해 둔다
+            return weeklyEmotionSummaryService.getSummary(couple.getId());
             
         } catch (Exception e) {
-            log.error("Error generating weekly emotion summary for user {}: {}", userEmail, e.getMessage(), e);
-            return "이번 주의 감정들을 정리하고 있어요.\n소중한 마음들이 담긴 한 주였네요 💝";
+            log.error("Error getting weekly emotion summary for user {}: {}", userEmail, e.getMessage(), e);
+            return AIAnalysisService.FALLBACK_WEEKLY_EMOTION_SUMMARY;
         }
     }
 
@@ -256,9 +337,16 @@ public class DiaryService {
                 // 양쪽 모두 작성함 - AI 요약 생성
                 result.put("status", "BOTH_WRITTEN");
                 
-                List<Diary> todayDiaries = List.of(userTodayDiary.get(), partnerTodayDiary.get());
-                String aiSummary = aiAnalysisService.generateCoupleSummary(todayDiaries);
-                result.put("summary", aiSummary);
+                // 요약은 두 일기의 AI 처리가 끝나면 미리 생성되어 있다
+                Optional<CoupleDailySummary> summary = 
+                        coupleDailySummaryRepository.findByCoupleIdAndSummaryDate(couple.getId(), today);
+                if (summary.isPresent()) {
+                    result.put("summary", summary.get().getSummary());
+                    result.put("summaryReady", true);
+                } else {
+                    result.put("summary", AIAnalysisService.FALLBACK_COUPLE_SUMMARY);
+                    result.put("summaryReady", false);
+                }
                 
             } else if (userTodayDiary.isPresent() && partnerTodayDiary.isEmpty()) {
                 // 내가만 작성함
@@ -287,27 +375,6 @@ public class DiaryService {
         }
     }
     
-    /**
-     * 커플의 최근 일기들을 바탕으로 AI 3줄 요약 생성 (레거시)
-     */
-    @Transactional(readOnly = true)
-    public String generateCoupleSummary(String userEmail) {
-        try {
-            User user = findUserByEmail(userEmail);
-            Couple couple = findCoupleByUser(user);
-            
-            // 최근 10개의 일기를 가져옴
-            Pageable pageable = PageRequest.of(0, 10);
-            List<Diary> recentDiaries = diaryRepository.findRecentByCoupleOrderByCreatedAtDesc(couple, pageable);
-            
-            return aiAnalysisService.generateCoupleSummary(recentDiaries);
-            
-        } catch (Exception e) {
-            log.error("Error generating couple summary for user {}: {}", userEmail, e.getMessage(), e);
-            return "서로를 향한 마음이\n일기 속에 따뜻하게\n담겨있는 소중한 시간 💕";
-        }
-    }
-    
     @Transactional(readOnly = true)
     public List<DiaryDto.EmotionStats> getEmotionStats(String userEmail, LocalDate startDate, LocalDate endDate) {
         User user = findUserByEmail(userEmail);
@@ -331,62 +398,134 @@ public class DiaryService {
     
     // AI processing methods
     public void processAiAnalysis(Long diaryId) {
-        processAiAnalysisSync(diaryId);
+        aiJobService.enqueue(AiJob.JobType.DIARY_ANALYSIS, diaryId);
     }
     
-    private void processAiAnalysisAsync(Long diaryId) {
-        // Run AI analysis in a separate thread to avoid blocking the main request
-        new Thread(() -> processAiAnalysisSync(diaryId)).start();
+    /**
+     * AI 분석 실행 (AiJobWorker에서 호출)
+     * OpenAI 호출 동안 DB 커넥션을 점유하지 않도록 트랜잭션 없이 실행하며, 실패는 재시도를 위해 호출자에게 전달합니다.
+     */
+    @Transactional(propagation = Propagation.NOT_SUPPORTED)
+    public void runAiAnalysis(Long diaryId) {
+        log.info("Starting AI analysis for diary: {}", diaryId);
+        
+        Optional<Diary> found = diaryRepository.findById(diaryId);
+        if (found.isEmpty()) {
+            log.info("Diary {} no longer exists, skipping AI analysis", diaryId);
+            return;
+        }
+        Diary diary = found.get();
+        
+        if (diary.getAiProcessed()) {
+            log.info("Diary {} already processed by AI", diaryId);
+            diaryAiStreamService.complete(diaryId, DiaryDto.AiResult.from(diary));
+            return;
+        }
+        
+        // 1. Analyze emotion and generate AI comment (same text reuses the cached result)
+        Optional<AIAnalysisService.DiaryAnalysisResult> cached = 
+                aiResultCache.get(diary.getTitle(), diary.getContent());
+        AIAnalysisService.DiaryAnalysisResult analysis = cached.orElseGet(() -> 
+                diaryAiStreamService.hasSubscribers(diaryId)
+                        ? aiAnalysisService.analyzeDiaryStreaming(diary.getTitle(), diary.getContent(),
+                                delta -> diaryAiStreamService.sendToken(diaryId, delta))
+                        : aiAnalysisService.analyzeDiary(diary.getTitle(), diary.getContent()));
+        
+        // Fallback result (timeout, rejection, unusable response): retry the job instead of storing it
+        if (analysis.isFallback()) {
+            throw new IllegalStateException("AI 분석이 대체 결과로 끝나 다음 재시도로 미룹니다.");
+        }
+        
+        // 2. Remember the result for identical text
+        if (cached.isEmpty()) {
+            aiResultCache.put(diary.getTitle(), diary.getContent(), analysis);
+        }
+        storeAnalysis(diary, analysis);
     }
     
-    private void processAiAnalysisSync(Long diaryId) {
-        try {
-            log.info("Starting AI analysis for diary: {}", diaryId);
-            
-            Diary diary = diaryRepository.findById(diaryId)
-                    .orElseThrow(() -> new IllegalStateException("일기를 찾을 수 없습니다."));
-            
-            if (diary.getAiProcessed()) {
-                log.info("Diary {} already processed by AI", diaryId);
-                return;
+    /**
+     * AI 분석 재시도를 모두 실패한 일기에 대체 결과 저장 (AiJobWorker에서 호출)
+     */
+    @Transactional(propagation = Propagation.NOT_SUPPORTED)
+    public void storeFallbackAnalysis(Long diaryId) {
+        diaryRepository.findById(diaryId)
+                .filter(diary -> !diary.getAiProcessed())
+                .ifPresent(diary -> storeAnalysis(diary, aiAnalysisService.createFallbackAnalysis()));
+    }
+    
+    private void storeAnalysis(Diary diary, AIAnalysisService.DiaryAnalysisResult analysis) {
+        Long diaryId = diary.getId();
+        String aiComment = analysis.getComment();
+        
+        // 3-4. Store the result and the AI comment together, only if the text analyzed is still current
+        Boolean applied = transactionTemplate.execute(status -> {
+            int updated = diaryRepository.applyAiResult(diaryId, diary.getTitle(), diary.getContent(),
+                    analysis.getEmotion(), aiComment, LocalDateTime.now());
+            if (updated == 0) {
+                return false;
             }
-            
-            // 1. Analyze emotion
-            AIAnalysisService.EmotionAnalysisResult emotionResult = 
-                    aiAnalysisService.analyzeEmotion(diary.getTitle(), diary.getContent());
-            
-            // 2. Generate AI comment
-            String aiComment = aiAnalysisService.generateAIComment(
-                    diary.getTitle(), 
-                    diary.getContent(), 
-                    emotionResult.getDescription()
-            );
-            
-            // 3. Update diary with AI analysis results
-            diary.setAiEmotion(emotionResult.getEmotion());
-            diary.setAiComment(aiComment);
-            diary.setAiProcessed(true);
-            diaryRepository.save(diary);
-            
-            // 4. Create AI comment
-            DiaryComment aiCommentEntity = DiaryComment.builder()
-                    .diary(diary)
+            commentRepository.save(DiaryComment.builder()
+                    .diary(diaryRepository.getReferenceById(diaryId))
                     .user(null) // AI comment has no user
                     .content(aiComment)
                     .type(DiaryComment.CommentType.AI)
-                    .build();
-            commentRepository.save(aiCommentEntity);
-            
-            log.info("AI analysis completed for diary: {} with emotion: {}", 
-                    diaryId, emotionResult.getEmotion());
-            
-        } catch (Exception e) {
-            log.error("Error processing AI analysis for diary {}: {}", diaryId, e.getMessage(), e);
+                    .build());
+            return true;
+        });
+        if (!Boolean.TRUE.equals(applied)) {
+            // Edited during analysis (a new job is queued) or already processed by another attempt
+            log.info("Diary {} changed or already processed during AI analysis, discarding result", diaryId);
+            return;
+        }
+        diary.setAiEmotion(analysis.getEmotion());
+        diary.setAiComment(aiComment);
+        diary.setAiProcessed(true);
+        
+        // 5. Notify SSE subscribers waiting on this diary
+        diaryAiStreamService.complete(diaryId, DiaryDto.AiResult.from(diary));
+        
+        log.info("AI analysis completed for diary: {} with emotion: {}", 
+                diaryId, analysis.getEmotion());
+        
+        // 6. Both partners' diaries for the day are analyzed -> build the couple summary once
+        List<Diary> sameDay = diaryRepository.findByCoupleIdAndDiaryDateWithUser(
+                diary.getCouple().getId(), diary.getDiaryDate());
+        if (sameDay.size() >= 2 && sameDay.stream().allMatch(Diary::getAiProcessed)) {
+            aiJobService.enqueue(AiJob.JobType.COUPLE_DAILY_SUMMARY, diaryId);
+        }
+    }
+    
+    /**
+     * 커플 하루 요약 생성 (AiJobWorker에서 호출)
+     * 생성에 실패하면 대체 문구를 저장하지 않고 예외를 던져 재시도합니다.
+     */
+    @Transactional(propagation = Propagation.NOT_SUPPORTED)
+    public void runCoupleDailySummary(Long diaryId) {
+        Optional<Diary> found = diaryRepository.findById(diaryId);
+        if (found.isEmpty()) {
+            log.info("Diary {} no longer exists, skipping couple summary", diaryId);
+            return;
+        }
+        Long coupleId = found.get().getCouple().getId();
+        LocalDate date = found.get().getDiaryDate();
+        
+        List<Diary> diaries = diaryRepository.findByCoupleIdAndDiaryDateWithUser(coupleId, date);
+        if (diaries.size() < 2) {
+            log.info("Couple {} has only {} diaries for {}, skipping summary", coupleId, diaries.size(), date);
+            return;
         }
+        
+        String summary = aiAnalysisService.generateCoupleSummary(diaries);
+        if (AIAnalysisService.FALLBACK_COUPLE_SUMMARY.equals(summary)) {
+            throw new IllegalStateException("커플 요약 생성에 실패했습니다.");
+        }
+        
+        coupleDailySummaryRepository.upsert(coupleId, date, summary);
+        log.info("Couple daily summary stored for couple {} on {}", coupleId, date);
     }
     
     private User findUserByEmail(String email) {
-        return userRepository.findByEmail(email)
+        return currentUserResolver.findUser(email)
                 .orElseThrow(() -> {
                     log.error("User not found with email: {}", email);
                     return new IllegalStateException("사용자를 찾을 수 없습니다.");
@@ -394,6 +533,11 @@ public class DiaryService {
     }
     
     private Couple findCoupleByUser(User user) {
+        Optional<Couple> current = currentUserResolver.findConnectedCouple(user);
+        if (current.isPresent()) {
+            return current.get();
+        }
+        
         Optional<Couple> coupleOpt = coupleRepository.findByUser1OrUser2(user);
         
         if (coupleOpt.isEmpty()) {
@@ -1,19 +1,106 @@
 package com.todayus.service;
 
+import com.fasterxml.jackson.databind.JsonNode;
+import lombok.Builder;
+import lombok.Getter;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
 import org.springframework.stereotype.Service;
+import org.springframework.web.reactive.function.client.WebClient;
 
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
 import java.util.Map;
 
 /**
  * Firebase Cloud Messaging 서비스
  * 실제 Firebase Admin SDK를 사용하려면 추가 설정이 필요합니다.
- * 현재는 시뮬레이션 버전입니다.
+ * app.fcm.mode가 simulation이면 로그만 남기고, http이면 app.fcm.endpoint의 멀티캐스트 API를 호출합니다.
+ * (로컬에서는 FcmStubController를 켜서 오프라인으로 테스트할 수 있습니다)
  */
 @Service
 @Slf4j
 public class FCMService {
     
+    /** FCM 멀티캐스트 1회 최대 토큰 수 */
+    public static final int MAX_MULTICAST_TOKENS = 500;
+    
+    private final WebClient webClient;
+    private final boolean httpMode;
+    private final Duration timeout;
+    
+    public FCMService(WebClient.Builder webClientBuilder,
+                      @Value("${app.fcm.mode:simulation}") String mode,
+                      @Value("${app.fcm.endpoint:http://localhost:8080/fcm-stub}") String endpoint,
+                      @Value("${app.fcm.timeout-ms:10000}") long timeoutMs) {
+        this.webClient = webClientBuilder.clone()
+                .baseUrl(endpoint)
+                .defaultHeader(HttpHeaders.CONTENT_TYPE, MediaType.APPLICATION_JSON_VALUE)
+                .build();
+        this.httpMode = "http".equalsIgnoreCase(mode);
+        this.timeout = Duration.ofMillis(timeoutMs);
+    }
+    
+    /**
+     * 최대 500개 토큰에 같은 알림을 한 번에 발송. 토큰별 결과를 요청 순서대로 반환
+     * 호출 자체가 실패하면 예외를 던지며, 배치 전체가 실패한 것으로 처리해야 한다
+     */
+    public BatchResponse sendMulticast(List<String> fcmTokens, String title, String body, Map<String, String> data) {
+        if (fcmTokens.size() > MAX_MULTICAST_TOKENS) {
+            throw new IllegalArgumentException("멀티캐스트 토큰은 최대 " + MAX_MULTICAST_TOKENS + "개입니다: " + fcmTokens.size());
+        }
+        if (!httpMode) {
+            log.info("🔔 [SIMULATION] Sending FCM multicast to {} tokens: {}", fcmTokens.size(), title);
+            List<SendResult> results = new ArrayList<>(fcmTokens.size());
+            long now = System.currentTimeMillis();
+            for (int i = 0; i < fcmTokens.size(); i++) {
+                results.add(SendResult.builder()
+                        .token(fcmTokens.get(i))
+                        .success(true)
+                        .messageId("msg_" + now + "_" + i)
+                        .build());
+            }
+            return new BatchResponse(results);
+        }
+        
+        Map<String, Object> notification = new HashMap<>();
+        notification.put("title", title);
+        notification.put("body", body);
+        Map<String, Object> request = new HashMap<>();
+        request.put("tokens", fcmTokens);
+        request.put("notification", notification);
+        request.put("data", data != null ? data : Map.of());
+        
+        JsonNode response = webClient.post()
+                .uri("/send-multicast")
+                .bodyValue(request)
+                .retrieve()
+                .bodyToMono(JsonNode.class)
+                .timeout(timeout)
+                .block();
+        
+        List<SendResult> results = new ArrayList<>(fcmTokens.size());
+        JsonNode responses = response != null ? response.path("responses") : null;
+        for (int i = 0; i < fcmTokens.size(); i++) {
+            JsonNode item = responses != null ? responses.path(i) : null;
+            if (item == null || item.isMissingNode()) {
+                results.add(SendResult.builder().token(fcmTokens.get(i)).success(false).error("MISSING_RESPONSE").build());
+                continue;
+            }
+            results.add(SendResult.builder()
+                    .token(fcmTokens.get(i))
+                    .success(item.path("success").asBoolean(false))
+                    .messageId(item.hasNonNull("messageId") ? item.get("messageId").asText() : null)
+                    .error(item.hasNonNull("error") ? item.get("error").asText() : null)
+                    .build());
+        }
+        return new BatchResponse(results);
+    }
+    
     /**
      * FCM 알림 발송
      * TODO: Firebase Admin SDK 구현 필요
@@ -128,4 +215,32 @@ public class FCMService {
             throw new RuntimeException("Failed to send topic message", e);
         }
     }
-}
\ No newline at end of file
+    
+    @Getter
+    public static class BatchResponse {
+        private final List<SendResult> results;
+        
+        public BatchResponse(List<SendResult> results) {
+            this.results = results;
+        }
+    }
+    
+    @Getter
+    @Builder
+    public static class SendResult {
+        private final String token;
+        private final boolean success;
+        private final String messageId;
+        private final String error;
+        
+        /**
+         * 다시 보내도 성공할 수 없는 토큰 (앱 삭제, 만료, 잘못된 형식)
+         */
+        public boolean isInvalidToken() {
+            return !success && error != null
+                    && (error.contains("UNREGISTERED")
+                        || error.contains("INVALID_ARGUMENT")
+                        || error.contains("Requested entity was not found"));
+        }
+    }
+}
@@ -0,0 +1,193 @@
+package com.todayus.service;
+
+import com.todayus.repository.UserDeviceRepository;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.Getter;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.concurrent.ThreadPoolTaskExecutor;
+import org.springframework.stereotype.Component;
+
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * FCM 대량 발송
+ * 토큰을 최대 500개 배치로 나눠 fcmTaskExecutor에서 병렬로 멀티캐스트하고,
+ * 초당 발송 메시지 수는 토큰 버킷(app.fcm.rate-per-second)으로 제한합니다.
+ * 배치 결과를 모아 더 이상 유효하지 않은 토큰은 한 번에 비활성화합니다.
+ */
+@Slf4j
+@Component
+public class FcmFanoutEngine {
+
+    private static final int DEACTIVATE_CHUNK_SIZE = 1000;
+
+    private final FCMService fcmService;
+    private final UserDeviceRepository userDeviceRepository;
+    private final DeviceRegistrationBuffer deviceRegistrationBuffer;
+    private final ThreadPoolTaskExecutor fcmTaskExecutor;
+    private final TokenBucket tokenBucket;
+    private final int batchSize;
+
+    private final Counter sentCounter;
+    private final Counter failedCounter;
+    private final Counter invalidTokenCounter;
+
+    public FcmFanoutEngine(FCMService fcmService,
+                           UserDeviceRepository userDeviceRepository,
+                           DeviceRegistrationBuffer deviceRegistrationBuffer,
+                           @Qualifier("fcmTaskExecutor") ThreadPoolTaskExecutor fcmTaskExecutor,
+                           MeterRegistry meterRegistry,
+                           @Value("${app.fcm.batch-size:500}") int batchSize,
+                           @Value("${app.fcm.rate-per-second:2000}") double ratePerSecond) {
+        this.fcmService = fcmService;
+        this.userDeviceRepository = userDeviceRepository;
+        this.deviceRegistrationBuffer = deviceRegistrationBuffer;
+        this.fcmTaskExecutor = fcmTaskExecutor;
+        this.batchSize = Math.max(1, Math.min(batchSize, FCMService.MAX_MULTICAST_TOKENS));
+        this.tokenBucket = new TokenBucket(ratePerSecond, Math.max(ratePerSecond, this.batchSize));
+        this.sentCounter = meterRegistry.counter("fcm.messages", "result", "sent");
+        this.failedCounter = meterRegistry.counter("fcm.messages", "result", "failed");
+        this.invalidTokenCounter = meterRegistry.counter("fcm.messages", "result", "invalid_token");
+    }
+
+    /**
+     * 모든 배치가 끝날 때까지 기다린 뒤 결과 합계를 반환
+     */
+    public FanoutResult send(List<String> fcmTokens, String title, String body, Map<String, String> data) {
+        FanoutResult result = new FanoutResult();
+        if (fcmTokens.isEmpty()) {
+            return result;
+        }
+
+        List<CompletableFuture<FCMService.BatchResponse>> futures = new ArrayList<>();
+        List<List<String>> batches = new ArrayList<>();
+        for (int from = 0; from < fcmTokens.size(); from += batchSize) {
+            List<String> batch = fcmTokens.subList(from, Math.min(from + batchSize, fcmTokens.size()));
+            batches.add(batch);
+            futures.add(CompletableFuture.supplyAsync(() -> sendBatch(batch, title, body, data), fcmTaskExecutor));
+        }
+
+        List<String> invalidTokens = new ArrayList<>();
+        for (int i = 0; i < futures.size(); i++) {
+            try {
+                for (FCMService.SendResult sendResult : futures.get(i).join().getResults()) {
+                    if (sendResult.isSuccess()) {
+                        result.successCount++;
+                        result.lastMessageId = sendResult.getMessageId();
+                        result.deliveredTokens.add(sendResult.getToken());
+                    } else {
+                        result.failureCount++;
+                        if (sendResult.isInvalidToken()) {
+                            invalidTokens.add(sendResult.getToken());
+                        }
+                    }
+                }
+            } catch (Exception e) {
+                // 배치 호출 자체가 실패하면 토큰 상태를 알 수 없으므로 실패로만 집계
+                result.failureCount += batches.get(i).size();
+                log.error("FCM batch {} of {} failed ({} tokens): {}", i + 1, futures.size(), batches.get(i).size(), e.getMessage());
+            }
+        }
+
+        if (!invalidTokens.isEmpty()) {
+            result.deactivatedCount = deactivate(invalidTokens);
+        }
+
+        sentCounter.increment(result.successCount);
+        failedCounter.increment(result.failureCount);
+        invalidTokenCounter.increment(invalidTokens.size());
+        log.info("FCM fan-out finished: {} tokens in {} batches, {} sent, {} failed, {} deactivated",
+                fcmTokens.size(), batches.size(), result.successCount, result.failureCount, result.deactivatedCount);
+        return result;
+    }
+
+    private FCMService.BatchResponse sendBatch(List<String> batch, String title, String body, Map<String, String> data) {
+        try {
+            tokenBucket.acquire(batch.size());
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException("FCM 발송 대기 중 인터럽트", e);
+        }
+        return fcmService.sendMulticast(batch, title, body, data);
+    }
+
+    private int deactivate(List<String> invalidTokens) {
+        int deactivated = 0;
+        for (int from = 0; from < invalidTokens.size(); from += DEACTIVATE_CHUNK_SIZE) {
+            List<String> chunk = invalidTokens.subList(from, Math.min(from + DEACTIVATE_CHUNK_SIZE, invalidTokens.size()));
+            try {
+                deactivated += userDeviceRepository.deactivateByFcmTokens(chunk);
+                deviceRegistrationBuffer.forget(chunk);
+            } catch (Exception e) {
+                log.error("Failed to deactivate {} invalid FCM tokens: {}", chunk.size(), e.getMessage());
+            }
+        }
+        return deactivated;
+    }
+
+    @Getter
+    public static class FanoutResult {
+        private int successCount;
+        private int failureCount;
+        private int deactivatedCount;
+        private String lastMessageId;
+        private final Set<String> deliveredTokens = new HashSet<>();
+
+        /**
+         * tokens 중 하나라도 발송에 성공했으면 true (수신자별 성공 판정용)
+         */
+        public boolean deliveredToAny(List<String> tokens) {
+            for (String token : tokens) {
+                if (deliveredTokens.contains(token)) {
+                    return true;
+                }
+            }
+            return false;
+        }
+    }
+
+    /**
+     * 초당 rate개씩 채워지는 토큰 버킷. 요청량이 남은 토큰보다 많으면 부족분이 채워질 때까지 대기
+     * 부족분은 미리 차감해 두므로 동시에 들어온 요청들은 순서대로 대기 시간이 늘어난다
+     */
+    private static class TokenBucket {
+        private final double ratePerNano;
+        private final double capacity;
+        private double available;
+        private long refilledAt;
+
+        TokenBucket(double ratePerSecond, double capacity) {
+            this.ratePerNano = ratePerSecond / TimeUnit.SECONDS.toNanos(1);
+            this.capacity = capacity;
+            this.available = capacity;
+            this.refilledAt = System.nanoTime();
+        }
+
+        void acquire(int permits) throws InterruptedException {
+            if (ratePerNano <= 0) {
+                return;
+            }
+            long waitNanos = reserve(permits);
+            if (waitNanos > 0) {
+                TimeUnit.NANOSECONDS.sleep(waitNanos);
+            }
+        }
+
+        private synchronized long reserve(int permits) {
+            long now = System.nanoTime();
+            available = Math.min(capacity, available + (now - refilledAt) * ratePerNano);
+            refilledAt = now;
+            available -= permits;
+            return available >= 0 ? 0 : (long) (-available / ratePerNano);
+        }
+    }
+}
@@ -0,0 +1,113 @@
+package com.todayus.service;
+
+import com.todayus.dto.HomeDto;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.TransactionDefinition;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Supplier;
+
+/**
+ * 홈 화면 집계 조회
+ * 앱 시작 시 따로 호출하던 조회들을 읽기 전용 트랜잭션 하나(커넥션 하나)에서 차례로 실행해 한 번에 응답합니다.
+ * 각 항목은 세이브포인트 안에서 실행되어 독립적으로 실패 처리되고(실패한 쿼리가 트랜잭션 전체를 중단시키지 않음),
+ * timeout-ms를 넘긴 항목은 timedOutSections로 구분해 내려보냅니다.
+ */
+@Slf4j
+@Service
+public class HomeService {
+
+    private final DiaryService diaryService;
+    private final TimeCapsuleService timeCapsuleService;
+    private final AnniversaryService anniversaryService;
+    private final CoupleMessageService coupleMessageService;
+    private final TransactionTemplate readOnlyTransaction;
+    private final TransactionTemplate sectionSavepoint;
+    private final long timeoutMs;
+
+    @Value("${app.home.recent-diary-limit:5}")
+    private int recentDiaryLimit;
+
+    public HomeService(DiaryService diaryService,
+                       TimeCapsuleService timeCapsuleService,
+                       AnniversaryService anniversaryService,
+                       CoupleMessageService coupleMessageService,
+                       PlatformTransactionManager transactionManager,
+                       @Value("${app.home.timeout-ms:3000}") long timeoutMs) {
+        this.diaryService = diaryService;
+        this.timeCapsuleService = timeCapsuleService;
+        this.anniversaryService = anniversaryService;
+        this.coupleMessageService = coupleMessageService;
+        this.timeoutMs = timeoutMs;
+        this.readOnlyTransaction = new TransactionTemplate(transactionManager);
+        this.readOnlyTransaction.setReadOnly(true);
+        // 트랜잭션 제한 시간은 각 쿼리의 타임아웃으로도 적용된다
+        this.readOnlyTransaction.setTimeout((int) Math.max(1, TimeUnit.MILLISECONDS.toSeconds(timeoutMs + 999)));
+        this.sectionSavepoint = new TransactionTemplate(transactionManager);
+        this.sectionSavepoint.setPropagationBehavior(TransactionDefinition.PROPAGATION_NESTED);
+        this.sectionSavepoint.setReadOnly(true);
+    }
+
+    public HomeDto.Response getHome(String userEmail) {
+        Sections sections = new Sections(sectionSavepoint, System.nanoTime() + TimeUnit.MILLISECONDS.toNanos(timeoutMs));
+        HomeDto.Response.ResponseBuilder response = HomeDto.Response.builder();
+
+        readOnlyTransaction.executeWithoutResult(status -> {
+            response.todayDiaryExists(Boolean.TRUE.equals(
+                    sections.load("todayDiaryExists", () -> diaryService.hasTodayDiary(userEmail))));
+            response.coupleSummary(sections.load("coupleSummary", () -> diaryService.getCoupleSummary(userEmail)));
+            response.recentDiaries(sections.load("recentDiaries", () -> diaryService.getRecentDiaries(userEmail, recentDiaryLimit)));
+            response.timeCapsuleSummary(sections.load("timeCapsuleSummary", () -> timeCapsuleService.getTimeCapsuleSummary(userEmail)));
+            response.anniversary(sections.load("anniversary", () -> anniversaryService.getAnniversary(userEmail)));
+            response.popupMessage(sections.load("popupMessage", () -> coupleMessageService.getMessageForPopup(userEmail).orElse(null)));
+            // 조회 전용이므로 커밋하지 않는다 (실패한 항목이 남긴 rollback-only 표시로 커밋 예외가 나지 않도록)
+            status.setRollbackOnly();
+        });
+
+        return response
+                .timedOutSections(sections.timedOut)
+                .failedSections(sections.failed)
+                .build();
+    }
+
+    /**
+     * 항목별 실행 결과 기록. 실패하면 세이브포인트까지 되돌리고 null을 돌려주며, 제한 시간이 지난 뒤의 항목은 실행하지 않는다
+     */
+    private static class Sections {
+
+        private final TransactionTemplate savepoint;
+        private final long deadlineNanos;
+        private final List<String> timedOut = new ArrayList<>();
+        private final List<String> failed = new ArrayList<>();
+
+        Sections(TransactionTemplate savepoint, long deadlineNanos) {
+            this.savepoint = savepoint;
+            this.deadlineNanos = deadlineNanos;
+        }
+
+        <T> T load(String name, Supplier<T> loader) {
+            if (System.nanoTime() > deadlineNanos) {
+                timedOut.add(name);
+                return null;
+            }
+            try {
+                return savepoint.execute(status -> loader.get());
+            } catch (Exception e) {
+                if (System.nanoTime() > deadlineNanos) {
+                    timedOut.add(name);
+                    log.warn("Home section {} timed out: {}", name, e.getMessage());
+                } else {
+                    failed.add(name);
+                    log.warn("Home section {} failed: {}", name, e.getMessage());
+                }
+                return null;
+            }
+        }
+    }
+}
@@ -0,0 +1,231 @@
+package com.todayus.service;
+
+import com.todayus.entity.NotificationOutbox;
+import com.todayus.repository.NotificationOutboxRepository;
+import com.todayus.repository.UserDeviceRepository;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.LocalDate;
+import java.time.ZoneId;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * notification_outbox 발송 워커
+ * 대기 중인 이벤트를 짧은 트랜잭션으로 임대 점유하고(SKIP LOCKED), 수신자별로 묶어 한 사람에게는 푸시 한 건만 보냅니다.
+ * 같은 문구의 푸시는 모아서 FcmFanoutEngine으로 발송하되, 성공 여부는 수신자의 토큰별 결과로 판정해
+ * 받지 못한 수신자의 이벤트만 지수 백오프로 재시도합니다.
+ * 발송은 트랜잭션 밖에서 하므로 DB 커넥션을 잡고 있지 않으며, 중간에 종료되면 임대가 끝난 뒤 다시 발송됩니다.
+ */
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class NotificationOutboxRelay {
+
+    private static final int MAX_ERROR_LENGTH = 1000;
+
+    private final NotificationOutboxRepository notificationOutboxRepository;
+    private final NotificationOutboxService notificationOutboxService;
+    private final UserDeviceRepository userDeviceRepository;
+    private final FcmFanoutEngine fcmFanoutEngine;
+    private final MeterRegistry meterRegistry;
+
+    @Value("${app.notification.outbox.batch-size:500}")
+    private int batchSize;
+
+    @Value("${app.notification.outbox.max-attempts:5}")
+    private int maxAttempts;
+
+    @Value("${app.notification.outbox.lease-seconds:120}")
+    private long leaseSeconds;
+
+    @Value("${app.notification.outbox.backoff-base-seconds:30}")
+    private long backoffBaseSeconds;
+
+    @Value("${app.notification.outbox.retention-days:7}")
+    private long retentionDays;
+
+    @Value("${app.notification.zone:Asia/Seoul}")
+    private String zone;
+
+    @Scheduled(initialDelayString = "${app.notification.outbox.initial-delay-ms:5000}",
+               fixedDelayString = "${app.notification.outbox.poll-interval-ms:1000}")
+    public void relay() {
+        List<NotificationOutbox> events = notificationOutboxRepository.claimPending(batchSize, leaseSeconds);
+        if (events.isEmpty()) {
+            return;
+        }
+
+        Map<Long, List<NotificationOutbox>> eventsByRecipient = new LinkedHashMap<>();
+        for (NotificationOutbox event : events) {
+            eventsByRecipient.computeIfAbsent(event.getRecipientUserId(), key -> new ArrayList<>()).add(event);
+        }
+
+        Map<Long, List<String>> tokensByUser = new HashMap<>();
+        for (Object[] row : userDeviceRepository.findActiveTokensByUserIds(eventsByRecipient.keySet())) {
+            tokensByUser.computeIfAbsent(((Number) row[0]).longValue(), key -> new ArrayList<>()).add((String) row[1]);
+        }
+
+        // 같은 문구끼리 모아 배치 발송
+        Map<String, Push> pushes = new LinkedHashMap<>();
+        List<NotificationOutbox> noDevice = new ArrayList<>();
+        for (Map.Entry<Long, List<NotificationOutbox>> entry : eventsByRecipient.entrySet()) {
+            List<String> tokens = tokensByUser.get(entry.getKey());
+            if (tokens == null) {
+                noDevice.addAll(entry.getValue());
+                continue;
+            }
+            Push push = Push.of(entry.getValue());
+            Push merged = pushes.computeIfAbsent(push.key(), key -> push);
+            merged.recipients.add(new Recipient(tokens, entry.getValue()));
+        }
+
+        List<Long> sentIds = ids(noDevice);
+        for (Push push : pushes.values()) {
+            FcmFanoutEngine.FanoutResult result = fcmFanoutEngine.send(push.tokens(), push.title, push.body, push.data);
+            List<NotificationOutbox> undelivered = new ArrayList<>();
+            for (Recipient recipient : push.recipients) {
+                if (result.deliveredToAny(recipient.tokens)) {
+                    sentIds.addAll(ids(recipient.events));
+                } else {
+                    undelivered.addAll(recipient.events);
+                }
+            }
+            if (!undelivered.isEmpty()) {
+                retryOrFail(undelivered, "FCM delivery failed for all devices of the recipient");
+            }
+        }
+        if (!sentIds.isEmpty()) {
+            notificationOutboxRepository.markSent(sentIds);
+        }
+
+        meterRegistry.counter("notification.outbox.relayed").increment(events.size());
+        log.debug("Relayed {} notification events to {} recipients in {} pushes",
+                events.size(), eventsByRecipient.size(), pushes.size());
+    }
+
+    /**
+     * 오늘부터 열 수 있는 타임캡슐 이벤트 기록
+     */
+    @Scheduled(cron = "${app.notification.outbox.time-capsule-cron:0 0 0 * * *}", zone = "${app.notification.zone:Asia/Seoul}")
+    public void publishOpenableTimeCapsules() {
+        int published = notificationOutboxService.publishOpenableTimeCapsules(LocalDate.now(ZoneId.of(zone)));
+        if (published > 0) {
+            log.info("Recorded {} openable time capsule notifications", published);
+        }
+    }
+
+    @Scheduled(cron = "${app.notification.outbox.cleanup-cron:0 30 4 * * *}")
+    @Transactional
+    public void cleanup() {
+        int deleted = notificationOutboxRepository.deleteProcessedBefore(retentionDays);
+        if (deleted > 0) {
+            log.info("Deleted {} processed notification outbox rows", deleted);
+        }
+    }
+
+    private void retryOrFail(List<NotificationOutbox> events, String error) {
+        String message = error.length() > MAX_ERROR_LENGTH ? error.substring(0, MAX_ERROR_LENGTH) : error;
+        List<Long> failed = new ArrayList<>();
+        Map<Long, List<Long>> retryByDelay = new HashMap<>();
+        for (NotificationOutbox event : events) {
+            int attempts = event.getAttempts() + 1;
+            if (attempts >= maxAttempts) {
+                failed.add(event.getId());
+            } else {
+                long delay = backoffBaseSeconds * (1L << Math.min(attempts - 1, 10));
+                retryByDelay.computeIfAbsent(delay, key -> new ArrayList<>()).add(event.getId());
+            }
+        }
+        if (!failed.isEmpty()) {
+            notificationOutboxRepository.markFailed(failed, message);
+            meterRegistry.counter("notification.outbox.failed").increment(failed.size());
+        }
+        retryByDelay.forEach((delay, ids) -> notificationOutboxRepository.reschedule(ids, delay, message));
+    }
+
+    private static List<Long> ids(List<NotificationOutbox> events) {
+        List<Long> ids = new ArrayList<>(events.size());
+        for (NotificationOutbox event : events) {
+            ids.add(event.getId());
+        }
+        return ids;
+    }
+
+    /**
+     * 한 수신자에게 보낼 푸시. 이벤트가 여러 개면 한 건으로 합친다
+     */
+    private static class Push {
+        private final String title;
+        private final String body;
+        private final Map<String, String> data;
+        private final List<Recipient> recipients = new ArrayList<>();
+
+        private Push(String title, String body, Map<String, String> data) {
+            this.title = title;
+            this.body = body;
+            this.data = data;
+        }
+
+        static Push of(List<NotificationOutbox> events) {
+            Map<String, String> data = new HashMap<>();
+            if (events.size() > 1) {
+                data.put("type", "multiple");
+                data.put("action", "navigate_to_home");
+                data.put("count", String.valueOf(events.size()));
+                return new Push(String.format("💕 새 소식 %d개", events.size()),
+                        "확인하지 않은 소식이 있어요. 앱에서 확인해보세요", data);
+            }
+
+            switch (events.get(0).getEventType()) {
+                case COUPLE_MESSAGE_READY:
+                    data.put("type", "couple_message");
+                    data.put("action", "navigate_to_couple_message");
+                    return new Push("💌 새 메시지가 도착했어요", "상대방이 전한 마음을 확인해보세요", data);
+                case WEEKLY_FEEDBACK_DELIVERED:
+                    data.put("type", "weekly_feedback");
+                    data.put("action", "navigate_to_weekly_feedback");
+                    return new Push("📮 이번 주 이야기가 도착했어요", "상대방의 마음을 확인해보세요", data);
+                case TIME_CAPSULE_OPENABLE:
+                default:
+                    data.put("type", "time_capsule");
+                    data.put("action", "navigate_to_time_capsule");
+                    return new Push("⏰ 타임캡슐을 열 수 있어요", "그때의 마음을 지금 열어보세요", data);
+            }
+        }
+
+        String key() {
+            return title + "\n" + body + "\n" + data;
+        }
+
+        List<String> tokens() {
+            List<String> tokens = new ArrayList<>();
+            for (Recipient recipient : recipients) {
+                tokens.addAll(recipient.tokens);
+            }
+            return tokens;
+        }
+    }
+
+    /**
+     * 같은 푸시를 받는 수신자 한 명의 기기 토큰과 이벤트
+     */
+    private static class Recipient {
+        private final List<String> tokens;
+        private final List<NotificationOutbox> events;
+
+        Recipient(List<String> tokens, List<NotificationOutbox> events) {
+            this.tokens = tokens;
+            this.events = events;
+        }
+    }
+}
@@ -0,0 +1,33 @@
+package com.todayus.service;
+
+import com.todayus.entity.NotificationOutbox;
+import com.todayus.repository.NotificationOutboxRepository;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.LocalDate;
+
+/**
+ * 알림 outbox 기록
+ * 호출한 서비스의 트랜잭션에 포함되므로, 상태 변경이 커밋될 때만 알림도 함께 커밋됩니다.
+ * 실제 발송은 NotificationOutboxRelay가 요청과 무관하게 처리합니다.
+ */
+@Slf4j
+@Service
+@RequiredArgsConstructor
+@Transactional
+public class NotificationOutboxService {
+
+    private final NotificationOutboxRepository notificationOutboxRepository;
+
+    public void publish(NotificationOutbox.EventType eventType, Long aggregateId, Long recipientUserId) {
+        notificationOutboxRepository.publish(eventType.name(), aggregateId, recipientUserId);
+        log.debug("Notification event recorded: {} {} -> user {}", eventType, aggregateId, recipientUserId);
+    }
+
+    public int publishOpenableTimeCapsules(LocalDate today) {
+        return notificationOutboxRepository.publishOpenableTimeCapsules(today);
+    }
+}
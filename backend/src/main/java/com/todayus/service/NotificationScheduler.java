@@ -0,0 +1,198 @@
+package com.todayus.service;
+
+import com.todayus.repository.UserDeviceRepository;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+
+import java.time.LocalDate;
+import java.time.ZoneId;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * 매일 정해진 시각의 일기 작성 알림, 기념일 알림 발송
+ * 대상 기기는 사용자별 조회 없이 SQL 한 번으로 페이지 단위(app.notification.page-size)로 계산하고,
+ * 페이지마다 FcmFanoutEngine으로 배치 발송합니다. 실행마다 대상/성공/실패 수를 로그와 메트릭으로 남깁니다.
+ * 여러 인스턴스가 같은 cron으로 실행되므로 ScheduledRunService로 하루 한 번만 발송합니다.
+ */
+@Slf4j
+@Service
+@RequiredArgsConstructor
+public class NotificationScheduler {
+
+    private static final String JOB_DIARY_REMINDER = "diary_reminder";
+    private static final String JOB_ANNIVERSARY = "anniversary";
+
+    private final UserDeviceRepository userDeviceRepository;
+    private final FcmFanoutEngine fcmFanoutEngine;
+    private final ScheduledRunService scheduledRunService;
+    private final MeterRegistry meterRegistry;
+
+    @Value("${app.notification.page-size:5000}")
+    private int pageSize;
+
+    @Value("${app.notification.zone:Asia/Seoul}")
+    private String zone;
+
+    @Value("${app.notification.diary-reminder.enabled:true}")
+    private boolean diaryReminderEnabled;
+
+    @Value("${app.notification.anniversary.enabled:true}")
+    private boolean anniversaryEnabled;
+
+    /**
+     * 오늘 일기를 쓰지 않은 사용자에게 작성 알림
+     */
+    @Scheduled(cron = "${app.notification.diary-reminder.cron:0 0 21 * * *}", zone = "${app.notification.zone:Asia/Seoul}")
+    public void sendDiaryReminders() {
+        if (!diaryReminderEnabled) {
+            return;
+        }
+        LocalDate today = LocalDate.now(ZoneId.of(zone));
+        if (!scheduledRunService.tryClaim(JOB_DIARY_REMINDER, today.toString())) {
+            return;
+        }
+        RunReport report = new RunReport(JOB_DIARY_REMINDER);
+
+        Map<String, String> data = new HashMap<>();
+        data.put("type", "diary_reminder");
+        data.put("action", "navigate_to_diary_write");
+
+        long lastId = 0L;
+        while (true) {
+            List<Object[]> rows = userDeviceRepository.findDiaryReminderTokensAfter(today, lastId, pageSize);
+            if (rows.isEmpty()) {
+                break;
+            }
+            List<String> tokens = new ArrayList<>(rows.size());
+            for (Object[] row : rows) {
+                tokens.add((String) row[1]);
+            }
+            lastId = ((Number) rows.get(rows.size() - 1)[0]).longValue();
+
+            report.add(fcmFanoutEngine.send(tokens,
+                    "오늘 일기 작성하셨나요? ✍️",
+                    "하루를 마무리하며 소중한 순간들을 기록해보세요",
+                    data), tokens.size());
+
+            if (rows.size() < pageSize) {
+                break;
+            }
+        }
+        finish(report);
+    }
+
+    /**
+     * 오늘 100일 단위 또는 N주년을 맞은 커플에게 기념일 알림
+     */
+    @Scheduled(cron = "${app.notification.anniversary.cron:0 0 9 * * *}", zone = "${app.notification.zone:Asia/Seoul}")
+    public void sendAnniversaryNotifications() {
+        if (!anniversaryEnabled) {
+            return;
+        }
+        LocalDate today = LocalDate.now(ZoneId.of(zone));
+        if (!scheduledRunService.tryClaim(JOB_ANNIVERSARY, today.toString())) {
+            return;
+        }
+        RunReport report = new RunReport(JOB_ANNIVERSARY);
+
+        long lastId = 0L;
+        while (true) {
+            List<Object[]> rows = userDeviceRepository.findAnniversaryTokensAfter(today, lastId, pageSize);
+            if (rows.isEmpty()) {
+                break;
+            }
+
+            // 같은 페이지 안에서도 커플마다 D+N이 다르므로 문구별로 묶어 발송
+            Map<String, List<String>> tokensByTitle = new LinkedHashMap<>();
+            Map<String, Integer> daysByTitle = new HashMap<>();
+            for (Object[] row : rows) {
+                int days = ((Number) row[2]).intValue();
+                String title = anniversaryTitle(toLocalDate(row[3]), today, days);
+                tokensByTitle.computeIfAbsent(title, key -> new ArrayList<>()).add((String) row[1]);
+                daysByTitle.put(title, days);
+            }
+            lastId = ((Number) rows.get(rows.size() - 1)[0]).longValue();
+
+            for (Map.Entry<String, List<String>> entry : tokensByTitle.entrySet()) {
+                int days = daysByTitle.get(entry.getKey());
+                Map<String, String> data = new HashMap<>();
+                data.put("type", "anniversary");
+                data.put("action", "navigate_to_anniversary");
+                data.put("anniversary_title", entry.getKey());
+                data.put("days_count", String.valueOf(days));
+
+                report.add(fcmFanoutEngine.send(entry.getValue(),
+                        String.format("🎉 %s", entry.getKey()),
+                        String.format("오늘은 특별한 날이에요! D+%d 축하합니다 💕", days),
+                        data), entry.getValue().size());
+            }
+
+            if (rows.size() < pageSize) {
+                break;
+            }
+        }
+        finish(report);
+    }
+
+    private static String anniversaryTitle(LocalDate anniversaryDate, LocalDate today, int days) {
+        if (anniversaryDate.getMonth() == today.getMonth() && anniversaryDate.getDayOfMonth() == today.getDayOfMonth()) {
+            return (today.getYear() - anniversaryDate.getYear()) + "주년";
+        }
+        return days + "일";
+    }
+
+    private static LocalDate toLocalDate(Object value) {
+        if (value instanceof java.sql.Date date) {
+            return date.toLocalDate();
+        }
+        return (LocalDate) value;
+    }
+
+    private void finish(RunReport report) {
+        long elapsedNanos = System.nanoTime() - report.startedAt;
+        meterRegistry.timer("notification.scheduled.run", "job", report.job)
+                .record(elapsedNanos, TimeUnit.NANOSECONDS);
+        meterRegistry.counter("notification.scheduled.recipients", "job", report.job, "result", "sent")
+                .increment(report.sent);
+        meterRegistry.counter("notification.scheduled.recipients", "job", report.job, "result", "failed")
+                .increment(report.failed);
+
+        log.info("Scheduled notification [{}] finished in {}ms: {} devices in {} sends, {} sent, {} failed, {} deactivated",
+                report.job, TimeUnit.NANOSECONDS.toMillis(elapsedNanos),
+                report.recipients, report.sends, report.sent, report.failed, report.deactivated);
+    }
+
+    /**
+     * 실행 1회의 집계
+     */
+    private static class RunReport {
+        private final String job;
+        private final long startedAt = System.nanoTime();
+        private int sends;
+        private int recipients;
+        private int sent;
+        private int failed;
+        private int deactivated;
+
+        RunReport(String job) {
+            this.job = job;
+        }
+
+        void add(FcmFanoutEngine.FanoutResult result, int tokenCount) {
+            sends++;
+            recipients += tokenCount;
+            sent += result.getSuccessCount();
+            failed += result.getFailureCount();
+            deactivated += result.getDeactivatedCount();
+        }
+    }
+}
@@ -3,16 +3,21 @@ package com.todayus.service;
 import com.todayus.dto.NotificationDto;
 import com.todayus.entity.UserDevice;
 import com.todayus.repository.UserDeviceRepository;
+import io.micrometer.core.instrument.MeterRegistry;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Pageable;
+import org.springframework.scheduling.annotation.Scheduled;
 import org.springframework.stereotype.Service;
-import org.springframework.transaction.annotation.Transactional;
 
 import java.time.LocalDateTime;
+import java.util.ArrayList;
 import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
-import java.util.Optional;
+import java.util.concurrent.TimeUnit;
 
 @Service
 @RequiredArgsConstructor
@@ -20,37 +25,40 @@ import java.util.Optional;
 public class NotificationService {
     
     private final UserDeviceRepository userDeviceRepository;
-    private final FCMService fcmService;
+    private final FcmFanoutEngine fcmFanoutEngine;
+    private final DeviceRegistrationBuffer deviceRegistrationBuffer;
+    private final MeterRegistry meterRegistry;
+    
+    @Value("${app.fcm.broadcast-page-size:5000}")
+    private int broadcastPageSize;
+    
+    @Value("${app.notification.device.inactive-days:30}")
+    private long inactiveDays;
+    
+    @Value("${app.notification.device.purge-days:180}")
+    private long purgeDays;
+    
+    @Value("${app.notification.device.cleanup-chunk-size:1000}")
+    private int cleanupChunkSize;
     
     /**
      * FCM 토큰 등록/업데이트
+     * 앱 실행마다 호출되므로, 내용이 바뀐 경우에만 upsert하고 나머지는 사용 기록만 버퍼에 남긴다
      */
-    @Transactional
     public void registerDevice(Long userId, String fcmToken, String deviceType) {
         try {
-            // 기존 토큰 확인
-            Optional<UserDevice> existingDevice = userDeviceRepository.findByFcmToken(fcmToken);
+            if (deviceRegistrationBuffer.isRecentlyRegistered(fcmToken, userId, deviceType)) {
+                deviceRegistrationBuffer.heartbeat(fcmToken);
+                return;
+            }
             
-            if (existingDevice.isPresent()) {
-                // 기존 기기 정보 업데이트
-                UserDevice device = existingDevice.get();
-                device.setUserId(userId);
-                device.setDeviceType(deviceType);
-                device.setLastUsedAt(LocalDateTime.now());
-                device.setIsActive(true);
-                userDeviceRepository.save(device);
-                log.info("Updated existing device for user {}: {}", userId, fcmToken.substring(0, 20));
+            int changed = userDeviceRepository.upsert(userId, fcmToken, deviceType);
+            if (changed == 0) {
+                deviceRegistrationBuffer.heartbeat(fcmToken);
             } else {
-                // 새 기기 등록
-                UserDevice newDevice = UserDevice.builder()
-                    .userId(userId)
-                    .fcmToken(fcmToken)
-                    .deviceType(deviceType)
-                    .isActive(true)
-                    .build();
-                userDeviceRepository.save(newDevice);
-                log.info("Registered new device for user {}: {}", userId, fcmToken.substring(0, 20));
+                log.info("Registered device for user {}: {}", userId, fcmToken.substring(0, Math.min(fcmToken.length(), 20)));
             }
+            deviceRegistrationBuffer.remember(fcmToken, userId, deviceType);
         } catch (Exception e) {
             log.error("Error registering device for user {}: {}", userId, e.getMessage());
             throw new RuntimeException("Failed to register device", e);
@@ -72,31 +80,13 @@ public class NotificationService {
                     .build();
             }
             
-            boolean anySuccess = false;
-            String lastMessageId = null;
-            
-            for (UserDevice device : devices) {
-                try {
-                    String messageId = fcmService.sendNotification(device.getFcmToken(), title, body, data);
-                    if (messageId != null) {
-                        anySuccess = true;
-                        lastMessageId = messageId;
-                        log.info("Notification sent to device {}: {}", device.getFcmToken().substring(0, 20), messageId);
-                    }
-                } catch (Exception e) {
-                    log.error("Failed to send notification to device {}: {}", device.getFcmToken().substring(0, 20), e.getMessage());
-                    // 토큰이 유효하지 않은 경우 비활성화
-                    if (e.getMessage().contains("Requested entity was not found")) {
-                        device.setIsActive(false);
-                        userDeviceRepository.save(device);
-                    }
-                }
-            }
+            FcmFanoutEngine.FanoutResult result = fcmFanoutEngine.send(tokensOf(devices), title, body, data);
+            boolean anySuccess = result.getSuccessCount() > 0;
             
             return NotificationDto.SendResponse.builder()
                 .success(anySuccess)
                 .message(anySuccess ? "Notification sent successfully" : "Failed to send to any device")
-                .messageId(lastMessageId)
+                .messageId(result.getLastMessageId())
                 .build();
                 
         } catch (Exception e) {
@@ -123,26 +113,13 @@ public class NotificationService {
                     .build();
             }
             
-            boolean anySuccess = false;
-            String lastMessageId = null;
-            
-            for (UserDevice device : partnerDevices) {
-                try {
-                    String messageId = fcmService.sendNotification(device.getFcmToken(), title, body, data);
-                    if (messageId != null) {
-                        anySuccess = true;
-                        lastMessageId = messageId;
-                        log.info("Partner notification sent to device {}: {}", device.getFcmToken().substring(0, 20), messageId);
-                    }
-                } catch (Exception e) {
-                    log.error("Failed to send partner notification to device {}: {}", device.getFcmToken().substring(0, 20), e.getMessage());
-                }
-            }
+            FcmFanoutEngine.FanoutResult result = fcmFanoutEngine.send(tokensOf(partnerDevices), title, body, data);
+            boolean anySuccess = result.getSuccessCount() > 0;
             
             return NotificationDto.SendResponse.builder()
                 .success(anySuccess)
                 .message(anySuccess ? "Partner notification sent successfully" : "Failed to send to any partner device")
-                .messageId(lastMessageId)
+                .messageId(result.getLastMessageId())
                 .build();
                 
         } catch (Exception e) {
@@ -227,20 +204,37 @@ public class NotificationService {
     
     /**
      * 전체 사용자에게 공지 발송
+     * 활성 기기 토큰을 id 순 keyset 페이지로 읽어 페이지 단위로 발송하므로, 기기 수와 관계없이 한 페이지만 메모리에 둔다
      */
     public void sendBroadcastNotification(String title, String body, Map<String, String> data) {
         try {
-            List<UserDevice> allDevices = userDeviceRepository.findAllActiveDevices();
-            log.info("Sending broadcast notification to {} devices", allDevices.size());
+            Pageable page = PageRequest.of(0, broadcastPageSize);
+            long lastId = 0L;
+            int total = 0;
+            int sent = 0;
             
-            for (UserDevice device : allDevices) {
-                try {
-                    fcmService.sendNotification(device.getFcmToken(), title, body, data);
-                    Thread.sleep(100); // Rate limiting
-                } catch (Exception e) {
-                    log.error("Failed to send broadcast to device {}: {}", device.getFcmToken().substring(0, 20), e.getMessage());
+            while (true) {
+                List<Object[]> rows = userDeviceRepository.findActiveTokensAfter(lastId, page);
+                if (rows.isEmpty()) {
+                    break;
+                }
+                
+                List<String> tokens = new ArrayList<>(rows.size());
+                for (Object[] row : rows) {
+                    tokens.add((String) row[1]);
+                }
+                lastId = ((Number) rows.get(rows.size() - 1)[0]).longValue();
+                
+                FcmFanoutEngine.FanoutResult result = fcmFanoutEngine.send(tokens, title, body, data);
+                total += tokens.size();
+                sent += result.getSuccessCount();
+                
+                if (rows.size() < broadcastPageSize) {
+                    break;
                 }
             }
+            
+            log.info("Broadcast notification finished: {} of {} devices sent", sent, total);
         } catch (Exception e) {
             log.error("Error sending broadcast notification: {}", e.getMessage());
         }
@@ -248,21 +242,42 @@ public class NotificationService {
     
     /**
      * 비활성 기기 정리
+     * inactive-days 동안 쓰이지 않은 기기는 비활성화하고, purge-days가 지난 비활성 기기는 삭제한다
+     * 한 번에 cleanup-chunk-size행씩 별도 트랜잭션으로 처리해 잠금과 트랜잭션 크기를 제한한다
      */
-    @Transactional
+    @Scheduled(cron = "${app.notification.device.cleanup-cron:0 0 4 * * *}")
     public void cleanupInactiveDevices() {
         try {
-            LocalDateTime cutoffDate = LocalDateTime.now().minusDays(30);
-            List<UserDevice> inactiveDevices = userDeviceRepository.findInactiveDevices(cutoffDate);
+            // 버퍼에 남은 사용 기록을 먼저 반영해야 최근 사용 기기가 비활성화되지 않는다
+            deviceRegistrationBuffer.flush();
             
-            for (UserDevice device : inactiveDevices) {
-                device.setIsActive(false);
-            }
+            LocalDateTime now = LocalDateTime.now();
+            long startedAt = System.nanoTime();
+            int deactivated = 0;
+            int chunk;
+            do {
+                chunk = userDeviceRepository.deactivateUnusedBefore(now.minusDays(inactiveDays), cleanupChunkSize);
+                deactivated += chunk;
+            } while (chunk == cleanupChunkSize);
+            
+            int purged = 0;
+            do {
+                chunk = userDeviceRepository.deleteInactiveBefore(now.minusDays(purgeDays), cleanupChunkSize);
+                purged += chunk;
+            } while (chunk == cleanupChunkSize);
             
-            userDeviceRepository.saveAll(inactiveDevices);
-            log.info("Deactivated {} inactive devices", inactiveDevices.size());
+            meterRegistry.counter("device.cleanup.rows", "action", "deactivated").increment(deactivated);
+            meterRegistry.counter("device.cleanup.rows", "action", "purged").increment(purged);
+            log.info("Device cleanup finished in {}ms: {} deactivated, {} purged",
+                TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - startedAt), deactivated, purged);
         } catch (Exception e) {
             log.error("Error cleaning up inactive devices: {}", e.getMessage());
         }
     }
-}
\ No newline at end of file
+    
+    private static List<String> tokensOf(List<UserDevice> devices) {
+        return devices.stream()
+            .map(UserDevice::getFcmToken)
+            .toList();
+    }
+}
@@ -0,0 +1,127 @@
+package com.todayus.service;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import lombok.Builder;
+import lombok.Getter;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.core.ParameterizedTypeReference;
+import org.springframework.http.MediaType;
+import org.springframework.http.codec.ServerSentEvent;
+import org.springframework.stereotype.Component;
+import org.springframework.web.reactive.function.client.WebClient;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+import java.time.Duration;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+
+/**
+ * OpenAI Chat Completions 논블로킹 클라이언트
+ * 결과는 Mono/Flux로 반환되며, 구독을 취소하거나 제한 시간이 지나면 진행 중인 HTTP 요청도 함께 취소됩니다.
+ * 모든 호출은 OpenAiGuard를 거치므로 장애 중에는 HTTP 요청 없이 즉시 실패합니다.
+ */
+@Slf4j
+@Component
+public class OpenAiClient {
+
+    public static final String DEFAULT_MODEL = "gpt-4";
+
+    private static final ParameterizedTypeReference<ServerSentEvent<String>> SSE_TYPE =
+            new ParameterizedTypeReference<>() {};
+
+    private final WebClient webClient;
+    private final OpenAiGuard openAiGuard;
+    private final ObjectMapper objectMapper = new ObjectMapper();
+    private final Duration defaultTimeout;
+
+    public OpenAiClient(@Qualifier("openAiWebClient") WebClient webClient,
+                        OpenAiGuard openAiGuard,
+                        @Value("${openai.http.timeout-seconds:60}") long timeoutSeconds) {
+        this.webClient = webClient;
+        this.openAiGuard = openAiGuard;
+        this.defaultTimeout = Duration.ofSeconds(timeoutSeconds);
+    }
+
+    /**
+     * 첫 번째 응답 메시지 내용. 응답에 선택지가 없으면 빈 Mono
+     */
+    public Mono<String> chat(ChatRequest request) {
+        return openAiGuard.protect(request.getModel(), webClient.post()
+                .uri("/chat/completions")
+                .bodyValue(toBody(request, false))
+                .retrieve()
+                .bodyToMono(JsonNode.class)
+                .flatMap(response -> {
+                    JsonNode message = response.path("choices").path(0).path("message");
+                    return message.hasNonNull("content")
+                            ? Mono.just(message.get("content").asText())
+                            : Mono.<String>empty();
+                })
+                .timeout(timeoutOf(request)));
+    }
+
+    /**
+     * 스트리밍 응답의 텍스트 조각. 제한 시간은 조각 사이의 최대 대기 시간으로 적용
+     */
+    public Flux<String> streamChat(ChatRequest request) {
+        return openAiGuard.protect(request.getModel(), webClient.post()
+                .uri("/chat/completions")
+                .accept(MediaType.TEXT_EVENT_STREAM)
+                .bodyValue(toBody(request, true))
+                .retrieve()
+                .bodyToFlux(SSE_TYPE)
+                .map(ServerSentEvent::data)
+                .filter(Objects::nonNull)
+                .takeWhile(data -> !"[DONE]".equals(data.trim()))
+                .map(this::deltaContent)
+                .filter(delta -> !delta.isEmpty())
+                .timeout(timeoutOf(request)));
+    }
+
+    private String deltaContent(String data) {
+        try {
+            JsonNode delta = objectMapper.readTree(data).path("choices").path(0).path("delta");
+            return delta.hasNonNull("content") ? delta.get("content").asText() : "";
+        } catch (Exception e) {
+            log.warn("Unparseable OpenAI stream chunk: {}", data);
+            return "";
+        }
+    }
+
+    private Map<String, Object> toBody(ChatRequest request, boolean stream) {
+        Map<String, Object> body = new HashMap<>();
+        body.put("model", request.getModel());
+        body.put("messages", List.of(
+                Map.of("role", "system", "content", request.getSystemPrompt()),
+                Map.of("role", "user", "content", request.getUserPrompt())
+        ));
+        body.put("max_tokens", request.getMaxTokens());
+        body.put("temperature", request.getTemperature());
+        if (stream) {
+            body.put("stream", true);
+        }
+        return body;
+    }
+
+    private Duration timeoutOf(ChatRequest request) {
+        return request.getTimeout() != null ? request.getTimeout() : defaultTimeout;
+    }
+
+    @Getter
+    @Builder
+    public static class ChatRequest {
+        @Builder.Default
+        private String model = DEFAULT_MODEL;
+        private String systemPrompt;
+        private String userPrompt;
+        private int maxTokens;
+        private double temperature;
+        private Duration timeout;
+    }
+}
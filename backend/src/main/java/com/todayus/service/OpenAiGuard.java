@@ -0,0 +1,305 @@
+package com.todayus.service;
+
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.HttpStatus;
+import org.springframework.stereotype.Component;
+import org.springframework.web.reactive.function.client.WebClientResponseException;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+import java.util.Arrays;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+/**
+ * OpenAI 호출 보호 (모델별 서킷 브레이커 + AIMD 동시 호출 제한)
+ * - 최근 호출의 오류율 또는 p95 지연이 기준을 넘으면 일정 시간 동안 호출 없이 즉시 거절합니다.
+ * - 동시 호출 한도는 성공 시 조금씩 늘리고, 429/타임아웃 시 절반으로 줄입니다.
+ * - 429 응답의 Retry-After 동안은 해당 모델 호출을 모두 거절합니다.
+ * 거절은 RejectedException으로 전달되어 각 호출부의 대체(fallback) 처리로 이어집니다.
+ */
+@Slf4j
+@Component
+public class OpenAiGuard {
+
+    private final Map<String, ModelGuard> guards = new ConcurrentHashMap<>();
+    private final MeterRegistry meterRegistry;
+
+    private final int windowSize;
+    private final int minCalls;
+    private final double errorRateThreshold;
+    private final long p95ThresholdMs;
+    private final long openMillis;
+    private final double initialLimit;
+    private final double minLimit;
+    private final double maxLimit;
+    private final long defaultRetryAfterMillis;
+
+    public OpenAiGuard(MeterRegistry meterRegistry,
+                       @Value("${openai.guard.window-size:50}") int windowSize,
+                       @Value("${openai.guard.min-calls:20}") int minCalls,
+                       @Value("${openai.guard.error-rate-threshold:0.5}") double errorRateThreshold,
+                       @Value("${openai.guard.p95-threshold-ms:20000}") long p95ThresholdMs,
+                       @Value("${openai.guard.open-seconds:30}") long openSeconds,
+                       @Value("${openai.guard.limit.initial:10}") double initialLimit,
+                       @Value("${openai.guard.limit.min:1}") double minLimit,
+                       @Value("${openai.guard.limit.max:50}") double maxLimit,
+                       @Value("${openai.guard.default-retry-after-seconds:10}") long defaultRetryAfterSeconds) {
+        this.meterRegistry = meterRegistry;
+        this.windowSize = windowSize;
+        this.minCalls = minCalls;
+        this.errorRateThreshold = errorRateThreshold;
+        this.p95ThresholdMs = p95ThresholdMs;
+        this.openMillis = openSeconds * 1000;
+        this.initialLimit = initialLimit;
+        this.minLimit = minLimit;
+        this.maxLimit = maxLimit;
+        this.defaultRetryAfterMillis = defaultRetryAfterSeconds * 1000;
+    }
+
+    public <T> Mono<T> protect(String model, Mono<T> call) {
+        return Mono.defer(() -> {
+            Permit permit = guardFor(model).tryAcquire();
+            long startedAt = System.nanoTime();
+            return call
+                    .doOnSuccess(value -> permit.success(elapsedMillis(startedAt)))
+                    .doOnError(permit::failure)
+                    .doOnCancel(permit::release);
+        });
+    }
+
+    /**
+     * 스트리밍 호출 보호. 스트림 전체 소요 시간은 응답 길이에 좌우되므로 지연 통계에는 넣지 않는다
+     */
+    public <T> Flux<T> protect(String model, Flux<T> call) {
+        return Flux.defer(() -> {
+            Permit permit = guardFor(model).tryAcquire();
+            return call
+                    .doOnComplete(() -> permit.success(-1))
+                    .doOnError(permit::failure)
+                    .doOnCancel(permit::release);
+        });
+    }
+
+    private ModelGuard guardFor(String model) {
+        return guards.computeIfAbsent(model, this::register);
+    }
+
+    private ModelGuard register(String model) {
+        ModelGuard guard = new ModelGuard(model);
+        Gauge.builder("ai.openai.limit", guard, g -> g.limit)
+                .tag("model", model)
+                .description("OpenAI 동시 호출 한도 (AIMD)")
+                .register(meterRegistry);
+        Gauge.builder("ai.openai.inflight", guard, g -> g.inFlight)
+                .tag("model", model)
+                .register(meterRegistry);
+        Gauge.builder("ai.openai.circuit.state", guard, g -> g.state.ordinal())
+                .tag("model", model)
+                .description("0=CLOSED, 1=HALF_OPEN, 2=OPEN")
+                .register(meterRegistry);
+        return guard;
+    }
+
+    private static long elapsedMillis(long startedAt) {
+        return (System.nanoTime() - startedAt) / 1_000_000;
+    }
+
+    private enum CircuitState {
+        CLOSED, HALF_OPEN, OPEN
+    }
+
+    private class ModelGuard {
+        private final String model;
+        private final boolean[] outcomes = new boolean[windowSize];
+        private final long[] latencies = new long[windowSize];
+        private int recorded;
+        private int next;
+
+        private CircuitState state = CircuitState.CLOSED;
+        private long openUntil;
+        private long blockedUntil;
+        private boolean probeInFlight;
+        private double limit = initialLimit;
+        private int inFlight;
+
+        ModelGuard(String model) {
+            this.model = model;
+        }
+
+        synchronized Permit tryAcquire() {
+            long now = System.currentTimeMillis();
+            if (now < blockedUntil) {
+                throw reject("retry-after");
+            }
+            if (state == CircuitState.OPEN) {
+                if (now < openUntil) {
+                    throw reject("circuit-open");
+                }
+                state = CircuitState.HALF_OPEN;
+                probeInFlight = false;
+            }
+            if (state == CircuitState.HALF_OPEN) {
+                if (probeInFlight) {
+                    throw reject("circuit-half-open");
+                }
+                probeInFlight = true;
+            } else if (inFlight >= Math.floor(limit)) {
+                throw reject("concurrency-limit");
+            }
+            inFlight++;
+            return new Permit(this);
+        }
+
+        synchronized void onSuccess(long latencyMs) {
+            inFlight--;
+            limit = Math.min(maxLimit, limit + 1.0 / limit);
+            if (state == CircuitState.HALF_OPEN) {
+                log.info("OpenAI circuit for {} closed after successful probe", model);
+                state = CircuitState.CLOSED;
+                recorded = 0;
+                next = 0;
+                return;
+            }
+            record(true, latencyMs);
+        }
+
+        synchronized void onFailure(Throwable error) {
+            inFlight--;
+            long now = System.currentTimeMillis();
+
+            if (error instanceof WebClientResponseException responseError) {
+                if (responseError.getStatusCode().value() == HttpStatus.TOO_MANY_REQUESTS.value()) {
+                    limit = Math.max(minLimit, limit / 2);
+                    blockedUntil = Math.max(blockedUntil, now + retryAfterMillis(responseError));
+                } else if (!responseError.getStatusCode().is5xxServerError()) {
+                    // 요청 자체의 문제(4xx)는 OpenAI 상태와 무관하므로 브레이커에 반영하지 않는다
+                    if (state == CircuitState.HALF_OPEN) {
+                        probeInFlight = false;
+                    }
+                    return;
+                }
+            } else if (error instanceof TimeoutException) {
+                limit = Math.max(minLimit, limit / 2);
+            }
+
+            if (state == CircuitState.HALF_OPEN) {
+                open(now, "probe failed");
+                return;
+            }
+            record(false, -1);
+        }
+
+        synchronized void onCancel() {
+            inFlight--;
+            if (state == CircuitState.HALF_OPEN) {
+                probeInFlight = false;
+            }
+        }
+
+        private void record(boolean success, long latencyMs) {
+            outcomes[next] = success;
+            latencies[next] = latencyMs;
+            next = (next + 1) % windowSize;
+            recorded = Math.min(recorded + 1, windowSize);
+
+            if (state != CircuitState.CLOSED || recorded < minCalls) {
+                return;
+            }
+
+            int errors = 0;
+            long[] successLatencies = new long[recorded];
+            int latencyCount = 0;
+            for (int i = 0; i < recorded; i++) {
+                if (!outcomes[i]) {
+                    errors++;
+                } else if (latencies[i] >= 0) {
+                    successLatencies[latencyCount++] = latencies[i];
+                }
+            }
+
+            double errorRate = (double) errors / recorded;
+            if (errorRate >= errorRateThreshold) {
+                open(System.currentTimeMillis(), String.format("error rate %.2f", errorRate));
+                return;
+            }
+            if (latencyCount >= minCalls) {
+                long[] sorted = Arrays.copyOf(successLatencies, latencyCount);
+                Arrays.sort(sorted);
+                long p95 = sorted[(int) Math.ceil(latencyCount * 0.95) - 1];
+                if (p95 >= p95ThresholdMs) {
+                    open(System.currentTimeMillis(), "p95 latency " + p95 + "ms");
+                }
+            }
+        }
+
+        private void open(long now, String reason) {
+            log.warn("OpenAI circuit for {} opened: {}", model, reason);
+            state = CircuitState.OPEN;
+            openUntil = now + openMillis;
+            probeInFlight = false;
+            recorded = 0;
+            next = 0;
+        }
+
+        private RejectedException reject(String reason) {
+            meterRegistry.counter("ai.openai.rejected", "model", model, "reason", reason).increment();
+            return new RejectedException(model, reason);
+        }
+
+        private long retryAfterMillis(WebClientResponseException error) {
+            String retryAfter = error.getHeaders().getFirst("Retry-After");
+            if (retryAfter != null) {
+                try {
+                    return (long) (Double.parseDouble(retryAfter.trim()) * 1000);
+                } catch (NumberFormatException ignored) {
+                    // HTTP-date 형식은 기본값 사용
+                }
+            }
+            return defaultRetryAfterMillis;
+        }
+    }
+
+    /**
+     * 호출 1건의 슬롯. 성공/실패/취소 중 처음 한 번만 반영된다
+     */
+    private static class Permit {
+        private final ModelGuard guard;
+        private final AtomicBoolean released = new AtomicBoolean();
+
+        Permit(ModelGuard guard) {
+            this.guard = guard;
+        }
+
+        void success(long latencyMs) {
+            if (released.compareAndSet(false, true)) {
+                guard.onSuccess(latencyMs);
+            }
+        }
+
+        void failure(Throwable error) {
+            if (released.compareAndSet(false, true)) {
+                guard.onFailure(error);
+            }
+        }
+
+        void release() {
+            if (released.compareAndSet(false, true)) {
+                guard.onCancel();
+            }
+        }
+    }
+
+    public static class RejectedException extends IllegalStateException {
+        private static final long serialVersionUID = 1L;
+
+        public RejectedException(String model, String reason) {
+            super("OpenAI call to " + model + " rejected: " + reason);
+        }
+    }
+}
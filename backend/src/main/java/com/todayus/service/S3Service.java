@@ -1,5 +1,6 @@
 package com.todayus.service;
 
+import com.todayus.dto.UploadDto;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.beans.factory.annotation.Value;
@@ -7,16 +8,27 @@ import org.springframework.stereotype.Service;
 import org.springframework.web.multipart.MultipartFile;
 import software.amazon.awssdk.core.sync.RequestBody;
 import software.amazon.awssdk.services.s3.S3Client;
+import software.amazon.awssdk.services.s3.model.CopyObjectRequest;
 import software.amazon.awssdk.services.s3.model.DeleteObjectRequest;
 import software.amazon.awssdk.services.s3.model.GetUrlRequest;
+import software.amazon.awssdk.services.s3.model.HeadObjectRequest;
+import software.amazon.awssdk.services.s3.model.HeadObjectResponse;
+import software.amazon.awssdk.services.s3.model.NoSuchKeyException;
 import software.amazon.awssdk.services.s3.model.PutObjectRequest;
 import software.amazon.awssdk.services.s3.model.S3Exception;
+import software.amazon.awssdk.services.s3.presigner.S3Presigner;
+import software.amazon.awssdk.services.s3.presigner.model.PresignedPutObjectRequest;
+import software.amazon.awssdk.services.s3.presigner.model.PutObjectPresignRequest;
 
 import java.io.IOException;
+import java.time.Duration;
 import java.time.LocalDateTime;
+import java.time.ZoneId;
 import java.time.format.DateTimeFormatter;
 import java.util.Arrays;
+import java.util.HashMap;
 import java.util.List;
+import java.util.Map;
 import java.util.UUID;
 
 @Service
@@ -25,6 +37,7 @@ import java.util.UUID;
 public class S3Service {
 
     private final S3Client s3Client;
+    private final S3Presigner s3Presigner;
 
     @Value("${aws.s3.bucket}")
     private String bucketName;
@@ -35,8 +48,96 @@ public class S3Service {
     @Value("${aws.s3.diary-image-path:diary-images/}")
     private String diaryImagePath;
 
+    // presigned 업로드는 이 경로 아래에 올라가고 confirm 시 원래 경로로 옮긴다.
+    // 버킷 수명 주기 규칙으로 확인되지 않은 객체를 만료시킨다 (application.yml 참고)
+    @Value("${aws.s3.pending-path:pending/}")
+    private String pendingPath;
+
+    @Value("${aws.s3.presign-expiration-seconds:300}")
+    private long presignExpirationSeconds;
+
     private static final List<String> ALLOWED_EXTENSIONS = Arrays.asList("jpg", "jpeg", "png", "gif", "webp");
     private static final long MAX_FILE_SIZE = 10 * 1024 * 1024; // 10MB (일기 사진은 좀 더 크게)
+    private static final Map<String, String> EXTENSION_BY_CONTENT_TYPE = Map.of(
+            "image/jpeg", "jpg",
+            "image/png", "png",
+            "image/gif", "gif",
+            "image/webp", "webp");
+
+    /**
+     * 프로필 이미지 직접 업로드용 presigned PUT URL 발급
+     */
+    public UploadDto.IntentResponse createProfileImageUploadIntent(Long userId, UploadDto.IntentRequest request) {
+        String extension = validateUploadIntent(request);
+        String key = pendingPath + profileImagePath + String.format("user_%d_%s_%s.%s", userId, timestamp(), uniqueId(), extension);
+        return presignPut(key, request);
+    }
+
+    /**
+     * 일기 이미지 직접 업로드용 presigned PUT URL 발급 (작성 중인 일기는 diaryId 0)
+     */
+    public UploadDto.IntentResponse createDiaryImageUploadIntent(Long userId, Long diaryId, UploadDto.IntentRequest request) {
+        String extension = validateUploadIntent(request);
+        String key = pendingPath + diaryImagePath + String.format("diary_%d_user_%d_%s_%s.%s", diaryId, userId, timestamp(), uniqueId(), extension);
+        return presignPut(key, request);
+    }
+
+    /**
+     * 업로드된 프로필 이미지 확인 후 pending 경로에서 옮기고 공개 URL 반환
+     */
+    public String confirmProfileImageUpload(Long userId, String key) {
+        if (key == null || !key.startsWith(pendingPath + profileImagePath + "user_" + userId + "_")) {
+            throw new IllegalArgumentException("업로드 키가 올바르지 않습니다.");
+        }
+        verifyUpload(key);
+        return promote(key);
+    }
+
+    /**
+     * 업로드된 일기 이미지 확인 후 pending 경로에서 옮기고 공개 URL 반환.
+     * 작성 중에 올린 이미지(diaryId 0)도 허용
+     */
+    public String confirmDiaryImageUpload(Long userId, Long diaryId, String key) {
+        verifyDiaryImageUpload(userId, diaryId, key);
+        return promote(key);
+    }
+
+    /**
+     * 업로드된 일기 이미지 확인만 하고 옮긴 뒤의 공개 URL 반환.
+     * 객체는 promoteUpload를 호출해야 옮겨진다
+     */
+    public String verifyDiaryImageUpload(Long userId, Long diaryId, String key) {
+        String userSuffix = "_user_" + userId + "_";
+        if (key == null
+                || !(key.startsWith(pendingPath + diaryImagePath + "diary_" + diaryId + userSuffix)
+                     || key.startsWith(pendingPath + diaryImagePath + "diary_0" + userSuffix))) {
+            throw new IllegalArgumentException("업로드 키가 올바르지 않습니다.");
+        }
+        verifyUpload(key);
+        return getPublicUrl(key.substring(pendingPath.length()));
+    }
+
+    /**
+     * verifyDiaryImageUpload로 확인한 pending 객체를 공개 경로로 옮김
+     */
+    public String promoteUpload(String pendingKey) {
+        if (pendingKey == null || !pendingKey.startsWith(pendingPath)) {
+            throw new IllegalArgumentException("업로드 키가 올바르지 않습니다.");
+        }
+        return promote(pendingKey);
+    }
+
+    /**
+     * 작성 중에 올린 일기 이미지 확인만 한다. 객체는 pending 경로에 남고
+     * 일기 저장 시 imageKey로 전달되면 그때 옮긴다 (저장하지 않으면 수명 주기 규칙으로 만료)
+     */
+    public String verifyDraftDiaryImageUpload(Long userId, String key) {
+        if (key == null || !key.startsWith(pendingPath + diaryImagePath + "diary_0_user_" + userId + "_")) {
+            throw new IllegalArgumentException("업로드 키가 올바르지 않습니다.");
+        }
+        verifyUpload(key);
+        return key;
+    }
 
     /**
      * 프로필 이미지 업로드
@@ -144,6 +245,126 @@ public class S3Service {
         }
     }
 
+    /**
+     * 업로드 요청의 형식/크기 검증 후 확장자 반환
+     */
+    private String validateUploadIntent(UploadDto.IntentRequest request) {
+        if (request == null || request.getContentLength() == null || request.getContentLength() <= 0) {
+            throw new IllegalArgumentException("파일이 비어있습니다.");
+        }
+        if (request.getContentLength() > MAX_FILE_SIZE) {
+            throw new IllegalArgumentException("파일 크기는 10MB를 초과할 수 없습니다.");
+        }
+        String extension = request.getContentType() != null
+                ? EXTENSION_BY_CONTENT_TYPE.get(request.getContentType().toLowerCase())
+                : null;
+        if (extension == null) {
+            throw new IllegalArgumentException("허용되지 않은 파일 형식입니다. 허용 형식: " + String.join(", ", ALLOWED_EXTENSIONS));
+        }
+        return extension;
+    }
+
+    /**
+     * Content-Type과 Content-Length를 서명에 포함한 PUT URL 생성 (다른 크기/형식으로는 업로드 불가)
+     */
+    private UploadDto.IntentResponse presignPut(String key, UploadDto.IntentRequest request) {
+        PutObjectRequest putObjectRequest = PutObjectRequest.builder()
+                .bucket(bucketName)
+                .key(key)
+                .contentType(request.getContentType().toLowerCase())
+                .contentLength(request.getContentLength())
+                .build();
+
+        PresignedPutObjectRequest presigned = s3Presigner.presignPutObject(PutObjectPresignRequest.builder()
+                .signatureDuration(Duration.ofSeconds(presignExpirationSeconds))
+                .putObjectRequest(putObjectRequest)
+                .build());
+
+        Map<String, String> headers = new HashMap<>();
+        presigned.signedHeaders().forEach((name, values) -> {
+            // Host는 HTTP 클라이언트가 URL에서 채운다
+            if (!"host".equalsIgnoreCase(name)) {
+                headers.put(name, String.join(",", values));
+            }
+        });
+
+        return UploadDto.IntentResponse.builder()
+                .uploadUrl(presigned.url().toString())
+                .method("PUT")
+                .key(key)
+                .headers(headers)
+                .expiresAt(LocalDateTime.ofInstant(presigned.expiration(), ZoneId.systemDefault()))
+                .build();
+    }
+
+    /**
+     * 객체 존재/형식/크기 확인. 조건에 맞지 않으면 객체를 지운다
+     */
+    private void verifyUpload(String key) {
+        HeadObjectResponse head;
+        try {
+            head = s3Client.headObject(HeadObjectRequest.builder()
+                    .bucket(bucketName)
+                    .key(key)
+                    .build());
+        } catch (NoSuchKeyException e) {
+            throw new IllegalArgumentException("업로드된 파일을 찾을 수 없습니다.");
+        } catch (S3Exception e) {
+            if (e.statusCode() == 404) {
+                throw new IllegalArgumentException("업로드된 파일을 찾을 수 없습니다.");
+            }
+            log.error("S3 error while confirming upload {}: {}", key, e.getMessage(), e);
+            throw new RuntimeException("S3 확인 중 오류가 발생했습니다: " + e.getMessage());
+        }
+
+        String contentType = head.contentType();
+        if (head.contentLength() == null || head.contentLength() > MAX_FILE_SIZE
+                || contentType == null || !EXTENSION_BY_CONTENT_TYPE.containsKey(contentType.toLowerCase())) {
+            deleteObject(key);
+            throw new IllegalArgumentException("업로드된 파일이 허용 조건(이미지, 10MB 이하)에 맞지 않습니다.");
+        }
+    }
+
+    /**
+     * pending 경로의 객체를 원래 경로로 복사한 뒤 pending 객체를 지운다.
+     * 삭제에 실패해도 수명 주기 규칙이 정리하므로 공개 URL은 그대로 반환
+     */
+    private String promote(String pendingKey) {
+        String key = pendingKey.substring(pendingPath.length());
+        try {
+            s3Client.copyObject(CopyObjectRequest.builder()
+                    .sourceBucket(bucketName)
+                    .sourceKey(pendingKey)
+                    .destinationBucket(bucketName)
+                    .destinationKey(key)
+                    .build());
+        } catch (S3Exception e) {
+            log.error("S3 error while moving upload {}: {}", pendingKey, e.getMessage(), e);
+            throw new RuntimeException("S3 확인 중 오류가 발생했습니다: " + e.getMessage());
+        }
+        deleteObject(pendingKey);
+        return getPublicUrl(key);
+    }
+
+    private void deleteObject(String key) {
+        try {
+            s3Client.deleteObject(DeleteObjectRequest.builder()
+                    .bucket(bucketName)
+                    .key(key)
+                    .build());
+        } catch (S3Exception e) {
+            log.warn("Failed to delete upload {}: {}", key, e.getMessage());
+        }
+    }
+
+    private static String timestamp() {
+        return LocalDateTime.now().format(DateTimeFormatter.ofPattern("yyyyMMdd_HHmmss"));
+    }
+
+    private static String uniqueId() {
+        return UUID.randomUUID().toString().substring(0, 8);
+    }
+
     /**
      * 파일 유효성 검증
      */
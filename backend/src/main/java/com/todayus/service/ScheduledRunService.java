@@ -0,0 +1,55 @@
+package com.todayus.service;
+
+import com.todayus.repository.ScheduledRunRepository;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.LocalDateTime;
+import java.util.Optional;
+
+/**
+ * 여러 인스턴스에서 같은 cron이 동시에 실행될 때 회차마다 한 인스턴스만 실행하도록 점유
+ * 점유는 호출한 트랜잭션에 포함되므로, 트랜잭션이 롤백되면 다음 실행에서 다시 점유할 수 있습니다.
+ */
+@Slf4j
+@Service
+@RequiredArgsConstructor
+@Transactional
+public class ScheduledRunService {
+
+    private final ScheduledRunRepository scheduledRunRepository;
+
+    @Value("${app.scheduled-runs.retention-days:30}")
+    private long retentionDays;
+
+    /**
+     * jobName의 runKey 회차를 점유했으면 true
+     */
+    public boolean tryClaim(String jobName, String runKey) {
+        boolean claimed = scheduledRunRepository.claim(jobName, runKey) > 0;
+        if (!claimed) {
+            log.debug("Scheduled run {} {} already claimed by another instance", jobName, runKey);
+        }
+        return claimed;
+    }
+
+    /**
+     * jobName이 마지막으로 점유된 시각
+     */
+    @Transactional(readOnly = true)
+    public Optional<LocalDateTime> lastStartedAt(String jobName) {
+        return scheduledRunRepository.findLastStartedAt(jobName);
+    }
+
+    @Scheduled(cron = "${app.scheduled-runs.cleanup-cron:0 45 4 * * *}")
+    public void purgeOldRuns() {
+        int purged = scheduledRunRepository.deleteStartedBefore(LocalDateTime.now().minusDays(retentionDays));
+        if (purged > 0) {
+            log.info("Purged {} scheduled run records", purged);
+        }
+    }
+}
@@ -1,5 +1,6 @@
 package com.todayus.service;
 
+import com.todayus.dto.CursorDto;
 import com.todayus.dto.TimeCapsuleDto;
 import com.todayus.entity.Couple;
 import com.todayus.entity.TimeCapsule;
@@ -12,6 +13,7 @@ import lombok.extern.slf4j.Slf4j;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.PageRequest;
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
@@ -29,6 +31,8 @@ public class TimeCapsuleService {
     private final TimeCapsuleRepository timeCapsuleRepository;
     private final UserRepository userRepository;
     private final CoupleRepository coupleRepository;
+    private final CurrentUserResolver currentUserResolver;
+    private final TimeCapsuleSummaryCache timeCapsuleSummaryCache;
     
     /**
      * 타임캡슐 생성
@@ -52,6 +56,7 @@ public class TimeCapsuleService {
                 .build();
         
         TimeCapsule savedTimeCapsule = timeCapsuleRepository.save(timeCapsule);
+        timeCapsuleSummaryCache.invalidate(couple.getId());
         
         log.info("Time capsule created: {} by user: {} with open date: {}", 
                 savedTimeCapsule.getId(), userEmail, request.getOpenDate());
@@ -73,6 +78,31 @@ public class TimeCapsuleService {
         return timeCapsules.map(TimeCapsuleDto.ListResponse::from);
     }
     
+    /**
+     * 커서 기반 타임캡슐 목록 ((createdAt, id) 내림차순). cursor가 없으면 첫 페이지
+     */
+    @Transactional(readOnly = true)
+    public CursorDto.Response<TimeCapsuleDto.ListResponse> getTimeCapsulesByCursor(String userEmail, String cursor, int size) {
+        User user = findUserByEmail(userEmail);
+        Couple couple = findCoupleByUser(user);
+        
+        Pageable pageable = PageRequest.of(0, CursorDto.clampSize(size));
+        Slice<TimeCapsule> timeCapsules;
+        if (cursor == null || cursor.isBlank()) {
+            timeCapsules = timeCapsuleRepository.findSliceByCouple(couple, pageable);
+        } else {
+            String[] keys = CursorDto.decode(cursor, 2);
+            timeCapsules = timeCapsuleRepository.findSliceByCoupleAfter(couple,
+                    CursorDto.toDateTime(keys[0]), CursorDto.toId(keys[1]), pageable);
+        }
+        
+        List<TimeCapsuleDto.ListResponse> content = timeCapsules.getContent().stream()
+                .map(TimeCapsuleDto.ListResponse::from)
+                .toList();
+        return CursorDto.Response.of(content, timeCapsules.hasNext(),
+                tc -> CursorDto.encode(tc.getCreatedAt(), tc.getId()));
+    }
+    
     /**
      * 타임캡슐 상세 조회
      */
@@ -115,6 +145,7 @@ public class TimeCapsuleService {
         }
         
         timeCapsule.open();
+        timeCapsuleSummaryCache.invalidate(timeCapsule.getCouple().getId());
         
         log.info("Time capsule opened: {} by user: {}", timeCapsuleId, userEmail);
         
@@ -145,20 +176,7 @@ public class TimeCapsuleService {
         User user = findUserByEmail(userEmail);
         Couple couple = findCoupleByUser(user);
         
-        long totalCount = timeCapsuleRepository.countByCouple(couple);
-        long openedCount = timeCapsuleRepository.countByCoupleAndIsOpenedTrue(couple);
-        long unopenedCount = timeCapsuleRepository.countByCoupleAndIsOpenedFalse(couple);
-        
-        List<TimeCapsule> openableTimeCapsules = timeCapsuleRepository
-                .findOpenableTimeCapsules(couple, LocalDate.now());
-        long openableCount = openableTimeCapsules.size();
-        
-        return TimeCapsuleDto.Summary.builder()
-                .totalCount(totalCount)
-                .openedCount(openedCount)
-                .unopenedCount(unopenedCount)
-                .openableCount(openableCount)
-                .build();
+        return timeCapsuleSummaryCache.get(couple.getId());
     }
     
     /**
@@ -179,12 +197,13 @@ public class TimeCapsuleService {
         }
         
         timeCapsuleRepository.delete(timeCapsule);
+        timeCapsuleSummaryCache.invalidate(timeCapsule.getCouple().getId());
         
         log.info("Time capsule deleted: {} by user: {}", timeCapsuleId, userEmail);
     }
     
     private User findUserByEmail(String email) {
-        return userRepository.findByEmail(email)
+        return currentUserResolver.findUser(email)
                 .orElseThrow(() -> {
                     log.error("User not found with email: {}", email);
                     return new IllegalStateException("사용자를 찾을 수 없습니다.");
@@ -192,6 +211,11 @@ public class TimeCapsuleService {
     }
     
     private Couple findCoupleByUser(User user) {
+        Optional<Couple> current = currentUserResolver.findConnectedCouple(user);
+        if (current.isPresent()) {
+            return current.get();
+        }
+        
         Optional<Couple> coupleOpt = coupleRepository.findByUser1OrUser2(user);
         
         if (coupleOpt.isEmpty()) {
@@ -0,0 +1,81 @@
+package com.todayus.service;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.todayus.dto.TimeCapsuleDto;
+import com.todayus.repository.TimeCapsuleRepository;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.time.LocalDate;
+import java.util.List;
+
+/**
+ * 커플별 타임캡슐 요약 캐시
+ * 열 수 있는 개수는 날짜에 따라 바뀌므로 계산한 날짜와 함께 저장하고, 날짜가 바뀌면 다시 집계합니다.
+ * 타임캡슐 생성/열기/삭제 시 TimeCapsuleService가 무효화합니다.
+ * 무효화는 이 인스턴스에만 적용되므로, 다른 인스턴스의 이전 개수가 ttl-seconds 이상 남지 않도록 수명을 짧게 유지합니다.
+ */
+@Component
+public class TimeCapsuleSummaryCache {
+
+    private final TimeCapsuleRepository timeCapsuleRepository;
+    private final Cache<Long, Entry> cache;
+
+    public TimeCapsuleSummaryCache(TimeCapsuleRepository timeCapsuleRepository,
+                                   MeterRegistry meterRegistry,
+                                   @Value("${app.time-capsule.summary-cache.max-size:10000}") long maxSize,
+                                   @Value("${app.time-capsule.summary-cache.ttl-seconds:5}") long ttlSeconds) {
+        this.timeCapsuleRepository = timeCapsuleRepository;
+        this.cache = Caffeine.newBuilder()
+                .maximumSize(maxSize)
+                .expireAfterWrite(Duration.ofSeconds(ttlSeconds))
+                .build();
+
+        Gauge.builder("time.capsule.summary.cache.size", cache, Cache::estimatedSize)
+                .register(meterRegistry);
+    }
+
+    public TimeCapsuleDto.Summary get(Long coupleId) {
+        LocalDate today = LocalDate.now();
+        Entry entry = cache.getIfPresent(coupleId);
+        if (entry != null && entry.date.equals(today)) {
+            return entry.summary;
+        }
+
+        TimeCapsuleDto.Summary summary = load(coupleId, today);
+        cache.put(coupleId, new Entry(today, summary));
+        return summary;
+    }
+
+    /**
+     * 즉시 무효화하고, 트랜잭션 중이면 커밋 후 한 번 더 무효화한다
+     */
+    public void invalidate(Long coupleId) {
+        CacheInvalidation.invalidateNowAndAfterCommit(cache, List.of(coupleId));
+    }
+
+    private TimeCapsuleDto.Summary load(Long coupleId, LocalDate today) {
+        List<Object[]> rows = timeCapsuleRepository.summarizeByCoupleId(coupleId, today);
+        Object[] row = rows.isEmpty() ? new Object[]{0L, 0L, 0L, 0L} : rows.get(0);
+        return TimeCapsuleDto.Summary.builder()
+                .totalCount(((Number) row[0]).longValue())
+                .openedCount(((Number) row[1]).longValue())
+                .unopenedCount(((Number) row[2]).longValue())
+                .openableCount(((Number) row[3]).longValue())
+                .build();
+    }
+
+    private static class Entry {
+        private final LocalDate date;
+        private final TimeCapsuleDto.Summary summary;
+
+        Entry(LocalDate date, TimeCapsuleDto.Summary summary) {
+            this.date = date;
+            this.summary = summary;
+        }
+    }
+}
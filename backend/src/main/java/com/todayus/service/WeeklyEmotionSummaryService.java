@@ -0,0 +1,103 @@
+package com.todayus.service;
+
+import com.todayus.entity.AiJob;
+import com.todayus.entity.Diary;
+import com.todayus.entity.WeeklyEmotionSummary;
+import com.todayus.repository.DiaryRepository;
+import com.todayus.repository.WeeklyEmotionSummaryRepository;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.temporal.ChronoUnit;
+import java.util.List;
+import java.util.Objects;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * 주간 감정 요약 사전 생성
+ * 마지막 실행 이후 일기가 바뀐 커플만 골라 ai_jobs에 WEEKLY_EMOTION_SUMMARY 작업으로 등록하고,
+ * 작업은 일기 집합의 지문이 바뀐 경우에만 OpenAI로 다시 요약합니다.
+ * 요청 속도는 app.ai.weekly-summary.requests-per-minute에 맞춰 작업 실행 시점을 분산해 제한합니다.
+ */
+@Slf4j
+@Service
+@RequiredArgsConstructor
+public class WeeklyEmotionSummaryService {
+
+    private static final String JOB_NAME = "weekly-emotion-summary";
+    private static final int WINDOW_DAYS = 7;
+
+    private final WeeklyEmotionSummaryRepository weeklyEmotionSummaryRepository;
+    private final DiaryRepository diaryRepository;
+    private final AIAnalysisService aiAnalysisService;
+    private final AiJobService aiJobService;
+    private final ScheduledRunService scheduledRunService;
+
+    @Value("${app.ai.weekly-summary.requests-per-minute:20}")
+    private int requestsPerMinute;
+
+    @Transactional(readOnly = true)
+    public String getSummary(Long coupleId) {
+        return weeklyEmotionSummaryRepository.findById(coupleId)
+                .map(WeeklyEmotionSummary::getSummary)
+                .orElse(AIAnalysisService.FALLBACK_WEEKLY_EMOTION_SUMMARY);
+    }
+
+    /**
+     * 요약 대상 커플을 작업으로 등록 (회차 점유와 작업 등록을 한 트랜잭션으로 처리)
+     */
+    @Scheduled(cron = "${app.ai.weekly-summary.cron:0 */30 * * * *}")
+    @Transactional
+    public void refreshSummaries() {
+        LocalDateTime now = LocalDateTime.now();
+        LocalDateTime since = scheduledRunService.lastStartedAt(JOB_NAME)
+                .orElse(now.minusDays(WINDOW_DAYS));
+        if (!scheduledRunService.tryClaim(JOB_NAME, now.truncatedTo(ChronoUnit.MINUTES).toString())) {
+            return;
+        }
+
+        List<Long> coupleIds = weeklyEmotionSummaryRepository.findCandidateCoupleIds(now.toLocalDate(), since);
+        long intervalMillis = requestsPerMinute > 0 ? TimeUnit.MINUTES.toMillis(1) / requestsPerMinute : 0;
+        for (int i = 0; i < coupleIds.size(); i++) {
+            aiJobService.enqueueAfter(AiJob.JobType.WEEKLY_EMOTION_SUMMARY, coupleIds.get(i), i * intervalMillis);
+        }
+
+        if (!coupleIds.isEmpty()) {
+            log.info("Enqueued weekly emotion summaries for {} couples", coupleIds.size());
+        }
+    }
+
+    /**
+     * 커플 한 곳의 주간 감정 요약 생성 (AiJobWorker에서 호출)
+     * 생성에 실패하면 대체 문구를 저장하지 않고 예외를 던져 재시도합니다.
+     */
+    @Transactional(propagation = Propagation.NOT_SUPPORTED)
+    public void runSummary(Long coupleId) {
+        LocalDate windowEnd = LocalDate.now();
+        LocalDate windowStart = windowEnd.minusDays(WINDOW_DAYS);
+
+        String fingerprint = weeklyEmotionSummaryRepository.computeFingerprint(coupleId, windowStart, windowEnd);
+        String storedFingerprint = weeklyEmotionSummaryRepository.findById(coupleId)
+                .map(WeeklyEmotionSummary::getFingerprint)
+                .orElse(null);
+        if (Objects.equals(fingerprint, storedFingerprint)) {
+            weeklyEmotionSummaryRepository.updateWindow(coupleId, windowStart, windowEnd);
+            return;
+        }
+
+        List<Diary> diaries = diaryRepository.findByCoupleIdAndDateRangeWithUser(coupleId, windowStart, windowEnd);
+        String summary = aiAnalysisService.generateWeeklyEmotionSummary(diaries);
+        if (AIAnalysisService.FALLBACK_WEEKLY_EMOTION_SUMMARY.equals(summary)) {
+            throw new IllegalStateException("주간 감정 요약 생성에 실패해 다음 재시도로 미룹니다.");
+        }
+        weeklyEmotionSummaryRepository.upsert(coupleId, windowStart, windowEnd, fingerprint, summary);
+        log.debug("Weekly emotion summary refreshed for couple {}", coupleId);
+    }
+}
@@ -1,7 +1,10 @@
 package com.todayus.service;
 
+import com.todayus.dto.CursorDto;
 import com.todayus.dto.WeeklyFeedbackDto;
+import com.todayus.entity.AiJob;
 import com.todayus.entity.Couple;
+import com.todayus.entity.NotificationOutbox;
 import com.todayus.entity.User;
 import com.todayus.entity.WeeklyFeedback;
 import com.todayus.repository.CoupleRepository;
@@ -12,14 +15,18 @@ import lombok.extern.slf4j.Slf4j;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.PageRequest;
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Propagation;
 import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
 
 import java.time.DayOfWeek;
 import java.time.LocalDate;
 import java.time.LocalDateTime;
 import java.time.LocalTime;
 import java.util.List;
+import java.util.Optional;
 import java.util.stream.Collectors;
 
 @Slf4j
@@ -31,7 +38,11 @@ public class WeeklyFeedbackService {
     private final WeeklyFeedbackRepository weeklyFeedbackRepository;
     private final UserRepository userRepository;
     private final CoupleRepository coupleRepository;
+    private final CurrentUserResolver currentUserResolver;
     private final AIAnalysisService aiAnalysisService;
+    private final AiJobService aiJobService;
+    private final NotificationOutboxService notificationOutboxService;
+    private final TransactionTemplate transactionTemplate;
     
     // 토요일 작성 가능 시간
     private static final LocalTime SATURDAY_START_TIME = LocalTime.of(7, 0); // 오전 7시
@@ -99,8 +110,8 @@ public class WeeklyFeedbackService {
         log.info("새로운 주간 피드백 작성됨 - 발신자: {}, 수신자: {}, 주차: {}", 
                 sender.getEmail(), receiver.getEmail(), weekOf);
 
-        // 비동기로 AI 처리 시작
-        processAIRefinement(savedFeedback.getId());
+        // AI 처리 작업을 같은 트랜잭션에 등록 (AiJobWorker가 실행)
+        aiJobService.enqueue(AiJob.JobType.WEEKLY_FEEDBACK, savedFeedback.getId());
 
         return WeeklyFeedbackDto.Response.from(savedFeedback);
     }
@@ -138,6 +149,31 @@ public class WeeklyFeedbackService {
             return WeeklyFeedbackDto.ListResponse.from(f, isReceived);
         });
     }
+    
+    /**
+     * 커서 기반 피드백 히스토리 ((createdAt, id) 내림차순). cursor가 없으면 첫 페이지
+     */
+    @Transactional(readOnly = true)
+    public CursorDto.Response<WeeklyFeedbackDto.ListResponse> getFeedbackHistoryByCursor(String userEmail, String cursor, int size) {
+        User user = findUserByEmail(userEmail);
+        Couple couple = findCoupleByUser(user);
+        
+        Pageable pageable = PageRequest.of(0, CursorDto.clampSize(size));
+        Slice<WeeklyFeedback> feedbacks;
+        if (cursor == null || cursor.isBlank()) {
+            feedbacks = weeklyFeedbackRepository.findSliceByCouple(couple, pageable);
+        } else {
+            String[] keys = CursorDto.decode(cursor, 2);
+            feedbacks = weeklyFeedbackRepository.findSliceByCoupleAfter(couple,
+                    CursorDto.toDateTime(keys[0]), CursorDto.toId(keys[1]), pageable);
+        }
+        
+        List<WeeklyFeedbackDto.ListResponse> content = feedbacks.getContent().stream()
+                .map(f -> WeeklyFeedbackDto.ListResponse.from(f, f.getReceiver().equals(user)))
+                .toList();
+        return CursorDto.Response.of(content, feedbacks.hasNext(),
+                f -> CursorDto.encode(f.getCreatedAt(), f.getId()));
+    }
 
     /**
      * 특정 피드백 조회 및 읽음 처리
@@ -163,51 +199,78 @@ public class WeeklyFeedbackService {
     }
 
     /**
-     * AI 순화 처리 (비동기)
+     * AI 순화 처리 (AiJobWorker에서 호출, OpenAI 호출 동안 트랜잭션을 열지 않음)
      */
-    private void processAIRefinement(Long feedbackId) {
-        // 별도 스레드에서 처리
-        new Thread(() -> {
-            try {
-                WeeklyFeedback feedback = weeklyFeedbackRepository.findById(feedbackId)
-                        .orElseThrow(() -> new IllegalArgumentException("피드백을 찾을 수 없습니다."));
-
-                // 상태를 처리 중으로 변경
-                feedback.setStatus(WeeklyFeedback.FeedbackStatus.PROCESSING);
-                weeklyFeedbackRepository.save(feedback);
-
-                log.info("AI 피드백 순화 시작 - ID: {}", feedbackId);
-
-                // AI 서비스를 통해 메시지 순화
-                String refinedMessage = aiAnalysisService.refineWeeklyFeedback(
-                        feedback.getOriginalMessage(),
-                        feedback.getSender().getNickname(),
-                        feedback.getReceiver().getNickname()
-                );
-
-                // 순화 완료 처리
-                feedback.markAsProcessed(refinedMessage);
-                feedback.markAsDelivered(); // 바로 전달 상태로 변경
-                weeklyFeedbackRepository.save(feedback);
-
-                log.info("AI 피드백 순화 완료 - ID: {}", feedbackId);
-
-            } catch (Exception e) {
-                log.error("AI 피드백 순화 처리 중 오류 발생 - ID: {}, 오류: {}", feedbackId, e.getMessage(), e);
-                
-                // 오류 발생시 원본 메시지로 전달
-                try {
-                    WeeklyFeedback feedback = weeklyFeedbackRepository.findById(feedbackId).orElse(null);
-                    if (feedback != null) {
-                        feedback.markAsProcessed(feedback.getOriginalMessage());
-                        feedback.markAsDelivered();
-                        weeklyFeedbackRepository.save(feedback);
-                    }
-                } catch (Exception ex) {
-                    log.error("피드백 오류 복구 중 추가 오류 발생 - ID: {}", feedbackId, ex);
-                }
-            }
-        }).start();
+    @Transactional(propagation = Propagation.NOT_SUPPORTED)
+    public void processAIRefinement(Long feedbackId) {
+        WeeklyFeedback feedback = weeklyFeedbackRepository.findById(feedbackId).orElse(null);
+        if (feedback == null) {
+            log.warn("처리할 피드백이 없습니다 - ID: {}", feedbackId);
+            return;
+        }
+        if (isAlreadyDelivered(feedback)) {
+            log.warn("이미 전달된 피드백입니다 - ID: {}", feedbackId);
+            return;
+        }
+
+        // 상태를 처리 중으로 변경
+        feedback.setStatus(WeeklyFeedback.FeedbackStatus.PROCESSING);
+        weeklyFeedbackRepository.save(feedback);
+
+        log.info("AI 피드백 순화 시작 - ID: {}", feedbackId);
+
+        // 발신자와 수신자 정보 조회 (워커 스레드에서는 지연 로딩이 불가)
+        User sender = userRepository.findById(feedback.getSender().getId())
+                .orElseThrow(() -> new IllegalStateException("발신자를 찾을 수 없습니다."));
+        User receiver = userRepository.findById(feedback.getReceiver().getId())
+                .orElseThrow(() -> new IllegalStateException("수신자를 찾을 수 없습니다."));
+
+        // AI 서비스를 통해 메시지 순화 (실패하면 예외가 전파되어 작업이 재시도됨)
+        String refinedMessage = aiAnalysisService.refineWeeklyFeedback(
+                feedback.getOriginalMessage(),
+                sender.getNickname(),
+                receiver.getNickname()
+        );
+
+        // 순화 완료 처리
+        feedback.markAsProcessed(refinedMessage);
+        feedback.markAsDelivered(); // 바로 전달 상태로 변경
+        saveAsDelivered(feedback);
+
+        log.info("AI 피드백 순화 완료 - ID: {}", feedbackId);
+    }
+
+    /**
+     * AI 순화 재시도가 모두 실패한 경우 원본 메시지로 전달 (AiJobWorker에서 호출)
+     */
+    @Transactional(propagation = Propagation.NOT_SUPPORTED)
+    public void deliverOriginalFeedback(Long feedbackId) {
+        WeeklyFeedback feedback = weeklyFeedbackRepository.findById(feedbackId).orElse(null);
+        if (feedback == null || isAlreadyDelivered(feedback)) {
+            return;
+        }
+
+        feedback.markAsProcessed(feedback.getOriginalMessage());
+        feedback.markAsDelivered();
+        saveAsDelivered(feedback);
+
+        log.info("피드백 원본 전달 완료 - ID: {}", feedbackId);
+    }
+
+    private boolean isAlreadyDelivered(WeeklyFeedback feedback) {
+        return feedback.getStatus() == WeeklyFeedback.FeedbackStatus.DELIVERED
+                || feedback.getStatus() == WeeklyFeedback.FeedbackStatus.READ;
+    }
+
+    /**
+     * 전달 상태 저장과 수신자 알림 기록을 한 트랜잭션으로 처리
+     */
+    private void saveAsDelivered(WeeklyFeedback feedback) {
+        transactionTemplate.executeWithoutResult(status -> {
+            weeklyFeedbackRepository.save(feedback);
+            notificationOutboxService.publish(NotificationOutbox.EventType.WEEKLY_FEEDBACK_DELIVERED,
+                    feedback.getId(), feedback.getReceiver().getId());
+        });
     }
 
     /**
@@ -254,11 +317,16 @@ public class WeeklyFeedbackService {
 
     // Helper methods
     private User findUserByEmail(String email) {
-        return userRepository.findByEmail(email)
+        return currentUserResolver.findUser(email)
                 .orElseThrow(() -> new IllegalArgumentException("사용자를 찾을 수 없습니다."));
     }
 
     private Couple findCoupleByUser(User user) {
+        Optional<Couple> current = currentUserResolver.findConnectedCouple(user);
+        if (current.isPresent()) {
+            return current.get();
+        }
+        
         return coupleRepository.findByUser1OrUser2(user)
                 .orElseThrow(() -> new IllegalStateException("커플 연결이 되어 있지 않습니다."));
     }
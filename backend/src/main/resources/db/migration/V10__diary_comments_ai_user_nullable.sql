@@ -0,0 +1,3 @@
+-- AI 코멘트는 작성자가 없으므로 user_id를 비워 둘 수 있어야 함
+
+ALTER TABLE diary_comments ALTER COLUMN user_id DROP NOT NULL;
@@ -0,0 +1,191 @@
+-- 기존 JPA 엔티티 기준 초기 스키마
+-- ddl-auto로 이미 만들어진 DB에도 적용되므로 모두 IF NOT EXISTS로 작성합니다.
+
+CREATE TABLE IF NOT EXISTS users (
+    id                bigint GENERATED BY DEFAULT AS IDENTITY PRIMARY KEY,
+    email             varchar(255) NOT NULL UNIQUE,
+    name              varchar(255) NOT NULL,
+    nickname          varchar(255) UNIQUE,
+    nickname_set      boolean,
+    profile_image_url varchar(255),
+    provider          varchar(255) NOT NULL,
+    provider_id       varchar(255) NOT NULL,
+    role              varchar(255) NOT NULL,
+    token_version     integer NOT NULL DEFAULT 0,
+    created_at        timestamp(6) NOT NULL,
+    updated_at        timestamp(6) NOT NULL
+);
+
+CREATE TABLE IF NOT EXISTS couples (
+    id                    bigint GENERATED BY DEFAULT AS IDENTITY PRIMARY KEY,
+    user1_id              bigint NOT NULL,
+    user2_id              bigint NOT NULL,
+    status                varchar(255) NOT NULL,
+    connected_at          timestamp(6) NOT NULL,
+    anniversary_date      date,
+    anniversary_setter_id bigint,
+    created_at            timestamp(6) NOT NULL,
+    updated_at            timestamp(6) NOT NULL
+);
+
+CREATE TABLE IF NOT EXISTS couple_members (
+    user_id    bigint PRIMARY KEY,
+    couple_id  bigint NOT NULL,
+    partner_id bigint NOT NULL
+);
+CREATE INDEX IF NOT EXISTS idx_couple_members_couple ON couple_members (couple_id);
+
+CREATE TABLE IF NOT EXISTS invite_codes (
+    id         bigint GENERATED BY DEFAULT AS IDENTITY PRIMARY KEY,
+    code       varchar(6) NOT NULL UNIQUE,
+    inviter_id bigint NOT NULL,
+    expires_at timestamp(6) NOT NULL,
+    status     varchar(255) NOT NULL,
+    invitee_id bigint,
+    used_at    timestamp(6),
+    created_at timestamp(6) NOT NULL
+);
+CREATE INDEX IF NOT EXISTS idx_invite_code ON invite_codes (code);
+CREATE INDEX IF NOT EXISTS idx_invite_expires_at ON invite_codes (expires_at);
+
+CREATE TABLE IF NOT EXISTS diaries (
+    id           bigint GENERATED BY DEFAULT AS IDENTITY PRIMARY KEY,
+    user_id      bigint NOT NULL,
+    couple_id    bigint NOT NULL,
+    title        varchar(255) NOT NULL,
+    content      text NOT NULL,
+    diary_date   date NOT NULL,
+    mood_emoji   varchar(255),
+    ai_emotion   varchar(255),
+    ai_comment   text,
+    ai_processed boolean,
+    image_url    varchar(255),
+    status       varchar(255) NOT NULL,
+    created_at   timestamp(6) NOT NULL,
+    updated_at   timestamp(6) NOT NULL
+);
+
+CREATE TABLE IF NOT EXISTS diary_comments (
+    id         bigint GENERATED BY DEFAULT AS IDENTITY PRIMARY KEY,
+    diary_id   bigint NOT NULL,
+    user_id    bigint NOT NULL,
+    content    text NOT NULL,
+    type       varchar(255) NOT NULL,
+    created_at timestamp(6) NOT NULL,
+    updated_at timestamp(6) NOT NULL
+);
+
+CREATE TABLE IF NOT EXISTS time_capsules (
+    id         bigint GENERATED BY DEFAULT AS IDENTITY PRIMARY KEY,
+    couple_id  bigint NOT NULL,
+    author_id  bigint NOT NULL,
+    title      varchar(200) NOT NULL,
+    content    text NOT NULL,
+    open_date  date NOT NULL,
+    is_opened  boolean NOT NULL,
+    opened_at  timestamp(6),
+    created_at timestamp(6) NOT NULL,
+    type       varchar(255) NOT NULL
+);
+
+CREATE TABLE IF NOT EXISTS couple_messages (
+    id                   bigint GENERATED BY DEFAULT AS IDENTITY PRIMARY KEY,
+    couple_id            bigint NOT NULL,
+    sender_id            bigint NOT NULL,
+    receiver_id          bigint NOT NULL,
+    original_message     text NOT NULL,
+    ai_processed_message text NOT NULL,
+    status               varchar(255) NOT NULL,
+    delivered_at         timestamp(6),
+    read_at              timestamp(6),
+    created_at           timestamp(6) NOT NULL
+);
+
+CREATE TABLE IF NOT EXISTS communications (
+    id            bigint GENERATED BY DEFAULT AS IDENTITY PRIMARY KEY,
+    couple_id     bigint NOT NULL,
+    sender_id     bigint NOT NULL,
+    receiver_id   bigint NOT NULL,
+    title         varchar(500) NOT NULL,
+    content       text NOT NULL,
+    ai_suggestion text,
+    ai_processed  boolean NOT NULL,
+    type          varchar(255) NOT NULL,
+    status        varchar(255) NOT NULL,
+    created_at    timestamp(6) NOT NULL,
+    responded_at  timestamp(6)
+);
+
+CREATE TABLE IF NOT EXISTS weekly_feedbacks (
+    id               bigint GENERATED BY DEFAULT AS IDENTITY PRIMARY KEY,
+    sender_id        bigint NOT NULL,
+    receiver_id      bigint NOT NULL,
+    couple_id        bigint NOT NULL,
+    week_of          date NOT NULL,
+    original_message text NOT NULL,
+    refined_message  text,
+    status           varchar(255) NOT NULL,
+    is_read          boolean NOT NULL,
+    created_at       timestamp(6) NOT NULL,
+    processed_at     timestamp(6),
+    delivered_at     timestamp(6),
+    read_at          timestamp(6)
+);
+
+CREATE TABLE IF NOT EXISTS user_devices (
+    id            bigint GENERATED BY DEFAULT AS IDENTITY PRIMARY KEY,
+    user_id       bigint NOT NULL,
+    fcm_token     varchar(255) NOT NULL UNIQUE,
+    device_type   varchar(255) NOT NULL,
+    device_info   varchar(255),
+    registered_at timestamp(6) NOT NULL,
+    last_used_at  timestamp(6),
+    is_active     boolean NOT NULL
+);
+
+CREATE TABLE IF NOT EXISTS ai_jobs (
+    id          bigint GENERATED BY DEFAULT AS IDENTITY PRIMARY KEY,
+    job_type    varchar(40) NOT NULL,
+    target_id   bigint NOT NULL,
+    status      varchar(20) NOT NULL,
+    attempts    integer NOT NULL,
+    next_run_at timestamp(6) NOT NULL,
+    locked_by   varchar(255),
+    locked_at   timestamp(6),
+    claim_token varchar(36),
+    last_error  text,
+    created_at  timestamp(6) NOT NULL,
+    updated_at  timestamp(6) NOT NULL,
+    CONSTRAINT uk_ai_jobs_type_target UNIQUE (job_type, target_id)
+);
+CREATE INDEX IF NOT EXISTS idx_ai_jobs_status_next_run ON ai_jobs (status, next_run_at);
+
+CREATE TABLE IF NOT EXISTS ai_result_cache (
+    content_hash varchar(64) PRIMARY KEY,
+    emotion      varchar(10) NOT NULL,
+    description  varchar(50) NOT NULL,
+    comment      text NOT NULL,
+    created_at   timestamp(6) NOT NULL
+);
+
+CREATE TABLE IF NOT EXISTS couple_daily_summaries (
+    id           bigint GENERATED BY DEFAULT AS IDENTITY PRIMARY KEY,
+    couple_id    bigint NOT NULL,
+    summary_date date NOT NULL,
+    summary      text NOT NULL,
+    created_at   timestamp(6) NOT NULL,
+    updated_at   timestamp(6) NOT NULL,
+    CONSTRAINT uk_couple_daily_summaries_couple_date UNIQUE (couple_id, summary_date)
+);
+
+CREATE TABLE IF NOT EXISTS weekly_emotion_summaries (
+    couple_id    bigint PRIMARY KEY,
+    window_start date NOT NULL,
+    window_end   date NOT NULL,
+    fingerprint  varchar(100) NOT NULL,
+    summary      text NOT NULL,
+    generated_at timestamp(6) NOT NULL
+);
+
+-- ddl-auto 시절 DB에 나중에 추가된 컬럼
+ALTER TABLE users ADD COLUMN IF NOT EXISTS token_version integer NOT NULL DEFAULT 0;
@@ -0,0 +1,55 @@
+-- 리포지토리 조회의 필터/정렬 컬럼에 맞춘 인덱스
+
+-- diaries: 커플 목록 (couple_id, status='PUBLISHED', diary_date DESC, created_at DESC), 날짜 범위 조회
+CREATE INDEX IF NOT EXISTS idx_diaries_couple_status_date
+    ON diaries (couple_id, status, diary_date DESC, created_at DESC);
+-- diaries: findByUserAndDiaryDate, 작성자별 목록
+CREATE INDEX IF NOT EXISTS idx_diaries_user_date
+    ON diaries (user_id, diary_date DESC, created_at DESC);
+
+-- diary_comments: 일기별 댓글 목록/개수
+CREATE INDEX IF NOT EXISTS idx_diary_comments_diary_created
+    ON diary_comments (diary_id, created_at);
+
+-- couples: user1/user2 OR 조건 (bitmap OR로 두 인덱스 사용)
+CREATE INDEX IF NOT EXISTS idx_couples_user1 ON couples (user1_id);
+CREATE INDEX IF NOT EXISTS idx_couples_user2 ON couples (user2_id);
+
+-- couple_messages: 전달 대기 메시지 (findReadyMessageForReceiver)
+CREATE INDEX IF NOT EXISTS idx_couple_messages_ready_receiver
+    ON couple_messages (receiver_id, created_at) WHERE status = 'READY';
+-- couple_messages: 기간 내 보낸 메시지 개수, 보낸 메시지 목록
+CREATE INDEX IF NOT EXISTS idx_couple_messages_sender_created
+    ON couple_messages (sender_id, created_at DESC);
+CREATE INDEX IF NOT EXISTS idx_couple_messages_receiver_created
+    ON couple_messages (receiver_id, created_at DESC);
+CREATE INDEX IF NOT EXISTS idx_couple_messages_couple_created
+    ON couple_messages (couple_id, created_at DESC);
+
+-- time_capsules: 열 수 있는/열지 않은 캡슐 (couple_id, is_opened, open_date)
+CREATE INDEX IF NOT EXISTS idx_time_capsules_couple_opened_date
+    ON time_capsules (couple_id, is_opened, open_date);
+CREATE INDEX IF NOT EXISTS idx_time_capsules_couple_created
+    ON time_capsules (couple_id, created_at DESC);
+CREATE INDEX IF NOT EXISTS idx_time_capsules_author_created
+    ON time_capsules (author_id, created_at DESC);
+
+-- weekly_feedbacks: 주간 작성 여부, 읽지 않은 피드백, 커플 히스토리
+CREATE INDEX IF NOT EXISTS idx_weekly_feedbacks_sender_week
+    ON weekly_feedbacks (sender_id, week_of);
+CREATE INDEX IF NOT EXISTS idx_weekly_feedbacks_receiver_unread
+    ON weekly_feedbacks (receiver_id, created_at DESC) WHERE is_read = false;
+CREATE INDEX IF NOT EXISTS idx_weekly_feedbacks_couple_created
+    ON weekly_feedbacks (couple_id, created_at DESC);
+CREATE INDEX IF NOT EXISTS idx_weekly_feedbacks_couple_week
+    ON weekly_feedbacks (couple_id, week_of);
+
+-- user_devices: 사용자별 활성 기기, 미사용 기기 정리
+CREATE INDEX IF NOT EXISTS idx_user_devices_user_active
+    ON user_devices (user_id) WHERE is_active = true;
+CREATE INDEX IF NOT EXISTS idx_user_devices_last_used
+    ON user_devices (last_used_at);
+
+-- invite_codes: 초대자별 활성 코드
+CREATE INDEX IF NOT EXISTS idx_invite_codes_inviter_status
+    ON invite_codes (inviter_id, status);
@@ -0,0 +1,6 @@
+-- couple_members 도입 이전에 연결된 커플 채우기
+INSERT INTO couple_members (user_id, couple_id, partner_id)
+SELECT c.user1_id, c.id, c.user2_id FROM couples c WHERE c.status = 'CONNECTED'
+UNION ALL
+SELECT c.user2_id, c.id, c.user1_id FROM couples c WHERE c.status = 'CONNECTED'
+ON CONFLICT (user_id) DO NOTHING;
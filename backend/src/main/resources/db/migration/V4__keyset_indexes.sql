@@ -0,0 +1,13 @@
+-- 커서 페이지네이션 정렬 키 ((..., id) 내림차순)에 맞춘 인덱스로 교체
+
+CREATE INDEX IF NOT EXISTS idx_diaries_couple_status_keyset
+    ON diaries (couple_id, status, diary_date DESC, created_at DESC, id DESC);
+DROP INDEX IF EXISTS idx_diaries_couple_status_date;
+
+CREATE INDEX IF NOT EXISTS idx_time_capsules_couple_keyset
+    ON time_capsules (couple_id, created_at DESC, id DESC);
+DROP INDEX IF EXISTS idx_time_capsules_couple_created;
+
+CREATE INDEX IF NOT EXISTS idx_weekly_feedbacks_couple_keyset
+    ON weekly_feedbacks (couple_id, created_at DESC, id DESC);
+DROP INDEX IF EXISTS idx_weekly_feedbacks_couple_created;
@@ -0,0 +1,4 @@
+-- 전체 발송용 활성 기기 토큰 keyset 조회 (id 순, 인덱스만으로 토큰까지 읽음)
+
+CREATE INDEX IF NOT EXISTS idx_user_devices_active_id_token
+    ON user_devices (id) INCLUDE (fcm_token) WHERE is_active = true;
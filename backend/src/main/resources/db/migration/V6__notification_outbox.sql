@@ -0,0 +1,20 @@
+-- 도메인 이벤트 알림 outbox (서비스 트랜잭션과 함께 기록, NotificationOutboxRelay가 발송)
+
+CREATE TABLE IF NOT EXISTS notification_outbox (
+    id                bigint GENERATED BY DEFAULT AS IDENTITY PRIMARY KEY,
+    event_type        varchar(40) NOT NULL,
+    aggregate_id      bigint NOT NULL,
+    recipient_user_id bigint NOT NULL,
+    status            varchar(20) NOT NULL,
+    attempts          integer NOT NULL,
+    next_run_at       timestamp(6) NOT NULL,
+    last_error        text,
+    created_at        timestamp(6) NOT NULL,
+    processed_at      timestamp(6),
+    CONSTRAINT uk_notification_outbox_event UNIQUE (event_type, aggregate_id, recipient_user_id)
+);
+
+CREATE INDEX IF NOT EXISTS idx_notification_outbox_pending
+    ON notification_outbox (next_run_at) WHERE status = 'PENDING';
+CREATE INDEX IF NOT EXISTS idx_notification_outbox_processed
+    ON notification_outbox (processed_at) WHERE status <> 'PENDING';
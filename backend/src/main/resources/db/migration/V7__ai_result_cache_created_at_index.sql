@@ -0,0 +1,4 @@
+-- 보관 기간이 지난 AI 분석 결과 캐시 청크 삭제
+
+CREATE INDEX IF NOT EXISTS idx_ai_result_cache_created_at
+    ON ai_result_cache (created_at);
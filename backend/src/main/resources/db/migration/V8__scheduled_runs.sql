@@ -0,0 +1,10 @@
+-- 스케줄 작업 실행 기록 (여러 인스턴스 중 한 곳만 실행하도록 job_name + run_key 단위로 점유)
+
+CREATE TABLE IF NOT EXISTS scheduled_runs (
+    id         bigint GENERATED BY DEFAULT AS IDENTITY PRIMARY KEY,
+    job_name   varchar(100) NOT NULL,
+    run_key    varchar(40) NOT NULL,
+    started_at timestamp(6) NOT NULL,
+    CONSTRAINT uk_scheduled_runs_job_run UNIQUE (job_name, run_key)
+);
+CREATE INDEX IF NOT EXISTS idx_scheduled_runs_started_at ON scheduled_runs (started_at);
@@ -0,0 +1,4 @@
+-- 주간 감정 요약 대상 커플 조회 (마지막 실행 이후 작성/수정된 일기)
+
+CREATE INDEX IF NOT EXISTS idx_diaries_couple_updated_at
+    ON diaries (couple_id, updated_at);